@@ -0,0 +1,30 @@
+package com.mrugesh.crud.benchmark;
+
+import com.mrugesh.crud.dto.EmployeeDto;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Synthetic employees shared by the benchmarks.
+ */
+final class EmployeeFixtures {
+
+    private EmployeeFixtures() {
+    }
+
+    static EmployeeDto employee(long index) {
+        return new EmployeeDto(null, "First" + index, "Last" + index, "employee" + index + "@example.com", null);
+    }
+
+    static List<EmployeeDto> employees(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(index -> {
+                    EmployeeDto employee = employee(index);
+                    employee.setId((long) index + 1);
+                    employee.setVersion(0L);
+                    return employee;
+                })
+                .toList();
+    }
+}
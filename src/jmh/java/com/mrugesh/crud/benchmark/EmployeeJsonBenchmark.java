@@ -0,0 +1,61 @@
+package com.mrugesh.crud.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrugesh.crud.dto.EmployeeDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures JSON serialization of the collection responses returned by the employee endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeJsonBenchmark {
+
+    @Param({"20", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private List<EmployeeDto> employees;
+
+    private Page<EmployeeDto> page;
+
+    @Setup
+    public void setUp() {
+        // same defaults as the mapper Spring Boot hands to the message converters
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        employees = EmployeeFixtures.employees(size);
+        page = new PageImpl<>(employees, PageRequest.of(3, size), 100_000);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
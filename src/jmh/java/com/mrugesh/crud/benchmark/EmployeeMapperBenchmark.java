@@ -0,0 +1,51 @@
+package com.mrugesh.crud.benchmark;
+
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.entity.Employee;
+import com.mrugesh.crud.mapper.EmployeeMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of converting between {@link Employee} entities and {@link EmployeeDto} objects.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeMapperBenchmark {
+
+    private Employee employee;
+
+    private EmployeeDto employeeDto;
+
+    @Setup
+    public void setUp() {
+        employeeDto = EmployeeFixtures.employee(42);
+        employeeDto.setId(42L);
+        employeeDto.setVersion(3L);
+        employee = EmployeeMapper.mapToEmployee(employeeDto);
+    }
+
+    @Benchmark
+    public EmployeeDto mapToEmployeeDto() {
+        return EmployeeMapper.mapToEmployeeDto(employee);
+    }
+
+    @Benchmark
+    public Employee mapToEmployee() {
+        return EmployeeMapper.mapToEmployee(employeeDto);
+    }
+}
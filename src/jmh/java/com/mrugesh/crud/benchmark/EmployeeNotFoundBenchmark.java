@@ -0,0 +1,150 @@
+package com.mrugesh.crud.benchmark;
+
+import com.mrugesh.crud.CrudDemoApp;
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.exception.ResourceNotFoundException;
+import com.mrugesh.crud.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures answering a lookup of an unknown employee id, the 404 path.
+ *
+ * <p>The {@code *Exception} and {@code optionalMiss} benchmarks isolate the cost of the miss itself at a given
+ * call stack depth: a stack-capturing exception, as {@link ResourceNotFoundException} was before, against the
+ * stackless one and an empty {@link Optional}. {@code serviceGetEmployeeById} and
+ * {@code serviceFindEmployeeById} run the miss through the service and an embedded H2 database, and
+ * {@code httpGetEmployeeById} through Tomcat, the controller and the problem detail rendering. Running the HTTP
+ * benchmark on the commit before the problem details were introduced gives the cost of the former
+ * {@code /error} forward.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeNotFoundBenchmark {
+
+    // about what a request thread has below a service call in Spring MVC
+    @Param({"120"})
+    private int depth;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeService employeeService;
+
+    private HttpClient client;
+
+    private String apiUrl;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        // the jmh profile runs without a web server, command line arguments take precedence over it
+        context = new SpringApplicationBuilder(CrudDemoApp.class).profiles("jmh")
+                .run("--spring.main.web-application-type=servlet", "--server.port=0");
+        employeeService = context.getBean(EmployeeService.class);
+        client = HttpClient.newHttpClient();
+        apiUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/employees/";
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public Object stackTraceException() {
+        try {
+            return miss(depth, true);
+        } catch (RuntimeException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public Object stacklessException() {
+        try {
+            return miss(depth, false);
+        } catch (RuntimeException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public Object optionalMiss() {
+        return optional(depth);
+    }
+
+    @Benchmark
+    public Object serviceGetEmployeeById() {
+        try {
+            return employeeService.getEmployeeById(unknownId());
+        } catch (ResourceNotFoundException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public Optional<EmployeeDto> serviceFindEmployeeById() {
+        return employeeService.findEmployeeById(unknownId());
+    }
+
+    @Benchmark
+    public int httpGetEmployeeById() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUrl + unknownId()))
+                .header("Accept", "application/json")
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+    }
+
+    private static long unknownId() {
+        // ids come from a sequence starting at 1
+        return -1 - ThreadLocalRandom.current().nextInt(1_000_000);
+    }
+
+    private static Object miss(int depth, boolean stackTrace) {
+        if (depth > 0) {
+            return miss(depth - 1, stackTrace);
+        }
+        throw stackTrace
+                ? new StackTraceNotFoundException("Employee not exist with given id: 42")
+                : new ResourceNotFoundException("Employee not exist with given id: 42");
+    }
+
+    private static Optional<EmployeeDto> optional(int depth) {
+        return depth > 0 ? optional(depth - 1) : Optional.empty();
+    }
+
+    /**
+     * {@link ResourceNotFoundException} as it was, filling in its stack trace on construction.
+     */
+    private static final class StackTraceNotFoundException extends RuntimeException {
+
+        StackTraceNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
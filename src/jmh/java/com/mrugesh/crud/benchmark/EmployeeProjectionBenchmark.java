@@ -0,0 +1,90 @@
+package com.mrugesh.crud.benchmark;
+
+import com.mrugesh.crud.CrudDemoApp;
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.mapper.EmployeeMapper;
+import com.mrugesh.crud.repository.EmployeeRepository;
+import com.mrugesh.crud.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a page of employees as managed entities in a read-write transaction, the way the
+ * service used to, with reading it as {@link EmployeeDto} projections in a read-only transaction, as a slice
+ * without the count query, the way the service does now.
+ *
+ * <p>Run with {@code -prof gc} to see the allocation per page next to the latency.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeProjectionBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"20", "1000"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeRepository employeeRepository;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(CrudDemoApp.class).profiles("jmh").run();
+        context.getBean(EmployeeService.class).createEmployees(EmployeeFixtures.employees(ROWS));
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Slice<EmployeeDto> entities() {
+        PageRequest page = randomPage();
+        return readWrite.execute(status -> employeeRepository.findAll(page).map(EmployeeMapper::mapToEmployeeDto));
+    }
+
+    @Benchmark
+    public Slice<EmployeeDto> projections() {
+        PageRequest page = randomPage();
+        return readOnly.execute(status -> employeeRepository.findDtoSlice(page));
+    }
+
+    private PageRequest randomPage() {
+        return PageRequest.of(ThreadLocalRandom.current().nextInt(ROWS / pageSize), pageSize);
+    }
+}
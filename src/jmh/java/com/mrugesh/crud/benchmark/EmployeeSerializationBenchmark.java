@@ -0,0 +1,114 @@
+package com.mrugesh.crud.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrugesh.crud.dto.EmployeeDto;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the response formats the employee endpoints can negotiate: JSON, CBOR and Smile, each plain and
+ * gzip compressed as the server compression would send it.
+ *
+ * <p>Pages are written straight to an output stream, like the message converters do, and the {@code bytes}
+ * counter reports the payload size per operation next to the time.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeSerializationBenchmark {
+
+    @Param({"20", "1000"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectMapper objectMapper;
+
+    private Page<EmployeeDto> page;
+
+    @Setup
+    public void setUp() {
+        // the builders Spring MVC uses for its JSON, CBOR and Smile message converters
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        page = new PageImpl<>(EmployeeFixtures.employees(size), PageRequest.of(3, size), 100_000);
+    }
+
+    @Benchmark
+    public void serializePage(PayloadSize payloadSize) throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(counter) : counter) {
+            objectMapper.writeValue(out, page);
+        }
+        payloadSize.bytes += counter.count;
+        payloadSize.operations++;
+    }
+
+    /**
+     * Average payload size in bytes, reported as a secondary result.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        private long bytes;
+
+        private long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            operations = 0;
+        }
+
+        public double bytes() {
+            return operations == 0 ? 0 : (double) bytes / operations;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
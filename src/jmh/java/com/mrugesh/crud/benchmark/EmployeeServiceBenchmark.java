@@ -0,0 +1,111 @@
+package com.mrugesh.crud.benchmark;
+
+import com.mrugesh.crud.CrudDemoApp;
+import com.mrugesh.crud.dto.BulkItemResultDto;
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.dto.EmployeePageDto;
+import com.mrugesh.crud.dto.EmployeeWindowDto;
+import com.mrugesh.crud.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures {@link EmployeeService} operations end to end against an embedded H2 database
+ * running in PostgreSQL mode (see {@code application-jmh.yml}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeService employeeService;
+
+    private long[] ids;
+
+    private final AtomicLong nextEmployee = new AtomicLong(1_000_000);
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(CrudDemoApp.class).profiles("jmh").run();
+        employeeService = context.getBean(EmployeeService.class);
+        ids = employeeService.createEmployees(EmployeeFixtures.employees(rows)).stream()
+                .map(BulkItemResultDto::getId)
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public EmployeeDto getEmployeeById() {
+        return employeeService.getEmployeeById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public EmployeePageDto getAllEmployeesWithPagination() {
+        return employeeService.getAllEmployeesWithPagination(ThreadLocalRandom.current().nextInt(rows / 20), 20,
+                EmployeePageDto.Total.EXACT);
+    }
+
+    @Benchmark
+    public EmployeePageDto getAllEmployeesWithPaginationWithoutTotal() {
+        return employeeService.getAllEmployeesWithPagination(ThreadLocalRandom.current().nextInt(rows / 20), 20,
+                EmployeePageDto.Total.NONE);
+    }
+
+    @Benchmark
+    public EmployeeWindowDto getAllEmployeesWithKeyset() {
+        return employeeService.getAllEmployeesWithKeyset("id", Sort.Direction.ASC, 20, null);
+    }
+
+    @Benchmark
+    public List<EmployeeDto> getAllEmployeesWithFilter() {
+        return employeeService.getAllEmployeesWithFilter("employee" + ThreadLocalRandom.current().nextInt(rows) + "@example.com");
+    }
+
+    @Benchmark
+    public List<EmployeeDto> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public EmployeeDto patchEmployee() {
+        long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        return employeeService.patchEmployee(id, new EmployeeDto(null, null, "Last" + id, null, null));
+    }
+
+    @Benchmark
+    public EmployeeDto createEmployee() {
+        return employeeService.createEmployee(EmployeeFixtures.employee(nextEmployee.getAndIncrement()));
+    }
+}
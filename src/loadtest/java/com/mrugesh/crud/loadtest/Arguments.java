@@ -0,0 +1,53 @@
+package com.mrugesh.crud.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the load test tools, given as {@code --name value} pairs or {@code --flag}.
+ */
+final class Arguments {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    private Arguments() {
+    }
+
+    static Arguments parse(String[] args) {
+        Arguments arguments = new Arguments();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an option starting with --, got " + args[i]);
+            }
+            String name = args[i].substring(2);
+            boolean flag = i + 1 == args.length || args[i + 1].startsWith("--");
+            arguments.values.put(name, flag ? "true" : args[++i]);
+        }
+        return arguments;
+    }
+
+    String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    long getLong(String name, long defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Long.parseLong(value.replace("_", ""));
+    }
+
+    /**
+     * Reads a duration such as {@code 30s}, {@code 5m} or an ISO-8601 {@code PT1M}.
+     */
+    Duration getDuration(String name, Duration defaultValue) {
+        String value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        return Duration.parse(value.toUpperCase().startsWith("P") ? value : "PT" + value);
+    }
+
+    boolean has(String name) {
+        return Boolean.parseBoolean(values.getOrDefault(name, "false"));
+    }
+}
@@ -0,0 +1,321 @@
+package com.mrugesh.crud.loadtest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrugesh.crud.CrudDemoApp;
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.dto.EmployeePageDto;
+import com.mrugesh.crud.service.EmployeeService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Open-loop load generator for the employee endpoints, reporting HdrHistogram latencies per endpoint.
+ *
+ * <p>Requests are started at a target rate, with Poisson (default) or uniform arrivals, whether or not earlier
+ * requests have completed, as independent clients would. Every request runs on its own virtual thread and its
+ * latency is measured from its intended start. Requests beyond {@code --max-in-flight} are dropped and counted
+ * rather than queued without bound.</p>
+ *
+ * <p>Against a running application (e.g. on a Postgres seeded with {@link EmployeeSeeder}):</p>
+ * <pre>./gradlew loadTest --args="--base-url http://localhost:8080 --rps 500 --duration 2m"</pre>
+ * <p>Or fully in-process, starting the application on an embedded H2 database seeded with {@code --rows}:</p>
+ * <pre>./gradlew loadTest --args="--embedded --rows 200000 --rps 1000 --mix get=80,page=10,create=10"</pre>
+ *
+ * <p>With {@code --reactive} the target runs the {@code reactive} profile (WebFlux over R2DBC), which serves get,
+ * filter, create and delete only. Comparing both stacks at high concurrency means running the same mix twice:</p>
+ * <pre>./gradlew loadTest --args="--embedded --reactive --rps 5000 --max-in-flight 20000"</pre>
+ * <pre>./gradlew loadTest --args="--embedded --rps 5000 --max-in-flight 20000 --mix get=60,filter=25,create=10,delete=5"</pre>
+ *
+ * <p>Percentile distributions are written to {@code --report-dir} as {@code .hgrm} files.</p>
+ */
+public final class EmployeeLoadTest {
+
+    private static final String DEFAULT_MIX = "get=50,page=15,sort=10,filter=10,create=5,update=5,delete=5";
+
+    // the operations the reactive controller serves
+    private static final String DEFAULT_REACTIVE_MIX = "get=60,filter=25,create=10,delete=5";
+
+    private static final String[] SORT_ORDERS = {"lastName,firstName", "firstName", "email"};
+
+    private static final int SAMPLE_PAGE_SIZE = 1000;
+
+    private static final int BROWSED_PAGES = 50;
+
+    private static final int SEED_CHUNK_SIZE = 10_000;
+
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(10);
+
+    private final String apiUrl;
+
+    private final HttpClient client;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final SyntheticEmployees employees;
+
+    private final LoadReport report = new LoadReport();
+
+    private final Queue<Long> createdIds = new ConcurrentLinkedQueue<>();
+
+    // far above any seeded id, so emails of created employees never collide with seeded ones or earlier runs
+    private final AtomicLong nextEmployee = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private List<EmployeeDto> sample;
+
+    private EmployeeLoadTest(String baseUrl, SyntheticEmployees employees) {
+        this.apiUrl = baseUrl + "/api/employees";
+        this.employees = employees;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Arguments arguments = Arguments.parse(args);
+        SyntheticEmployees employees = new SyntheticEmployees(arguments.getLong("seed", 42));
+        String baseUrl = arguments.get("base-url", "http://localhost:8080");
+        boolean reactive = arguments.has("reactive");
+        ConfigurableApplicationContext context = null;
+        try {
+            if (arguments.has("embedded")) {
+                context = new SpringApplicationBuilder(CrudDemoApp.class)
+                        .profiles(reactive ? new String[]{"loadtest", "reactive"} : new String[]{"loadtest"})
+                        .run();
+                baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                seed(context.getBean(EmployeeService.class), employees, arguments.getLong("rows", 100_000));
+            }
+            EmployeeLoadTest loadTest = new EmployeeLoadTest(baseUrl, employees);
+            int samplePages = (int) arguments.getLong("sample-pages", 10);
+            if (reactive) {
+                loadTest.streamSample(samplePages * SAMPLE_PAGE_SIZE);
+            } else {
+                loadTest.sampleEmployees(samplePages);
+            }
+            Duration duration = arguments.getDuration("duration", Duration.ofMinutes(1));
+            String mix = arguments.get("mix", reactive ? DEFAULT_REACTIVE_MIX : DEFAULT_MIX);
+            loadTest.run(EmployeeOperation.Mix.parse(mix),
+                    arguments.getLong("rps", 200),
+                    "poisson".equals(arguments.get("arrivals", "poisson")),
+                    arguments.getDuration("warmup", Duration.ofSeconds(10)),
+                    duration,
+                    (int) arguments.getLong("max-in-flight", 10_000));
+            loadTest.report.print(System.out, duration);
+            Path reportDir = Path.of(arguments.get("report-dir", "build/reports/loadtest"));
+            loadTest.report.writeHistograms(reportDir);
+            System.out.println("Latency distributions written to " + reportDir.toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Seeds the embedded database through the batched bulk insert of the service.
+     */
+    private static void seed(EmployeeService employeeService, SyntheticEmployees employees, long rows) {
+        for (long from = 1; from <= rows; from += SEED_CHUNK_SIZE) {
+            employeeService.createEmployees(LongStream.range(from, Math.min(from + SEED_CHUNK_SIZE, rows + 1))
+                    .mapToObj(employees::employee)
+                    .toList());
+        }
+        System.out.printf("Seeded %,d employees%n", rows);
+    }
+
+    /**
+     * Reads random pages of existing employees, the ids and emails the read and update requests pick from.
+     */
+    private void sampleEmployees(int pages) throws IOException, InterruptedException {
+        EmployeePageDto first = readPage(0);
+        long pageCount = Math.max(1, first.getTotalPages());
+        Set<Long> sampledPages = new HashSet<>();
+        sample = new ArrayList<>(first.getContent());
+        sampledPages.add(0L);
+        while (sampledPages.size() < Math.min(pages, pageCount)) {
+            long page = ThreadLocalRandom.current().nextLong(pageCount);
+            if (sampledPages.add(page)) {
+                sample.addAll(readPage(page).getContent());
+            }
+        }
+        if (sample.isEmpty()) {
+            throw new IllegalStateException("No employees to load test against, seed the database first");
+        }
+        System.out.printf("Sampled %,d of %,d employees%n", sample.size(), first.getTotalElements());
+    }
+
+    /**
+     * Takes the first employees of the NDJSON stream, the reactive API has no pagination. Closing the stream early
+     * cancels the rest of the query.
+     */
+    private void streamSample(int size) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUrl))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/x-ndjson")
+                .build();
+        HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+        if (response.statusCode() != 200) {
+            throw new IOException("Sampling employees failed with status " + response.statusCode());
+        }
+        try (Stream<String> lines = response.body()) {
+            sample = new ArrayList<>();
+            for (String line : (Iterable<String>) lines.limit(size)::iterator) {
+                sample.add(objectMapper.readValue(line, EmployeeDto.class));
+            }
+        }
+        if (sample.isEmpty()) {
+            throw new IllegalStateException("No employees to load test against, seed the database first");
+        }
+        System.out.printf("Sampled the first %,d employees%n", sample.size());
+    }
+
+    private EmployeePageDto readPage(long page) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request("/pagination/" + page + "/" + SAMPLE_PAGE_SIZE).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("Sampling employees failed with status " + response.statusCode());
+        }
+        return objectMapper.readValue(response.body(), EmployeePageDto.class);
+    }
+
+    private void run(EmployeeOperation.Mix mix, long rps, boolean poisson, Duration warmup, Duration duration,
+                     int maxInFlight) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicLong completed = new AtomicLong();
+        double meanIntervalNanos = 1e9 / rps;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        long nextProgress = start + PROGRESS_INTERVAL.toNanos();
+        double offsetNanos = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (true) {
+                offsetNanos += poisson ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos : meanIntervalNanos;
+                long intended = start + (long) offsetNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long now = System.nanoTime();
+                if (intended > now) {
+                    LockSupport.parkNanos(intended - now);
+                }
+                if (now >= nextProgress) {
+                    System.out.printf("  %3d s: %,d completed, %,d in flight%n",
+                            TimeUnit.NANOSECONDS.toSeconds(now - start), completed.get(), inFlight.get());
+                    nextProgress += PROGRESS_INTERVAL.toNanos();
+                }
+                EmployeeOperation operation = mix.pick(random);
+                boolean measured = intended >= measureFrom;
+                if (inFlight.get() >= maxInFlight) {
+                    if (measured) {
+                        report.dropped(operation);
+                    }
+                    continue;
+                }
+                inFlight.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        execute(operation, intended, measured);
+                    } finally {
+                        inFlight.decrementAndGet();
+                        completed.incrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    private void execute(EmployeeOperation operation, long intended, boolean measured) {
+        HttpRequest request = request(operation, ThreadLocalRandom.current());
+        if (request == null) {
+            if (measured) {
+                report.skipped(operation);
+            }
+            return;
+        }
+        int status;
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+            if (operation == EmployeeOperation.CREATE && status == 201) {
+                createdIds.add(objectMapper.readValue(response.body(), EmployeeDto.class).getId());
+            }
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = -1;
+        }
+        if (measured) {
+            report.record(operation, System.nanoTime() - intended, status);
+        }
+    }
+
+    private HttpRequest request(EmployeeOperation operation, ThreadLocalRandom random) {
+        EmployeeDto employee = sample.get(random.nextInt(sample.size()));
+        return switch (operation) {
+            case GET -> request("/" + employee.getId()).build();
+            case PAGE -> request("/pagination/" + random.nextInt(BROWSED_PAGES) + "/20").build();
+            case SORT -> request("/sort/" + SORT_ORDERS[random.nextInt(SORT_ORDERS.length)]
+                    + "?direction=" + (random.nextBoolean() ? "ASC" : "DESC")
+                    + "&page=" + random.nextInt(BROWSED_PAGES) + "&size=20").build();
+            case FILTER -> request("/filter?email=" + URLEncoder.encode(employee.getEmail(), StandardCharsets.UTF_8)).build();
+            case CREATE -> request("")
+                    .header("Content-Type", "application/json")
+                    .POST(json(employees.employee(nextEmployee.getAndIncrement())))
+                    .build();
+            case UPDATE -> request("/" + employee.getId())
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", json(Map.of("lastName", employees.lastName(random))))
+                    .build();
+            case DELETE -> {
+                Long id = createdIds.poll();
+                yield id == null ? null : request("/" + id).DELETE().build();
+            }
+        };
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(apiUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.mrugesh.crud.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * The employee endpoints exercised by the load test.
+ */
+enum EmployeeOperation {
+    /**
+     * {@code GET /api/employees/{id}} of a sampled employee.
+     */
+    GET,
+    /**
+     * {@code GET /api/employees/pagination/{offset}/20} of one of the first pages.
+     */
+    PAGE,
+    /**
+     * {@code GET /api/employees/sort/{fields}} of one of the first pages.
+     */
+    SORT,
+    /**
+     * {@code GET /api/employees/filter} by the email of a sampled employee.
+     */
+    FILTER,
+    /**
+     * {@code POST /api/employees} of a new synthetic employee.
+     */
+    CREATE,
+    /**
+     * {@code PATCH /api/employees/{id}} of the last name of a sampled employee.
+     */
+    UPDATE,
+    /**
+     * {@code DELETE /api/employees/{id}} of an employee created by this run, seeded employees are kept.
+     */
+    DELETE;
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Weighted choice of operations, parsed from e.g. {@code get=50,page=15,create=5}.
+     */
+    static final class Mix {
+
+        private final EmployeeOperation[] operations;
+
+        private final int[] cumulativeWeights;
+
+        private Mix(Map<EmployeeOperation, Integer> weights) {
+            operations = weights.keySet().toArray(EmployeeOperation[]::new);
+            cumulativeWeights = new int[operations.length];
+            int sum = 0;
+            for (int i = 0; i < operations.length; i++) {
+                sum += weights.get(operations[i]);
+                cumulativeWeights[i] = sum;
+            }
+            if (sum <= 0) {
+                throw new IllegalArgumentException("The mix needs at least one positive weight");
+            }
+        }
+
+        static Mix parse(String mix) {
+            Map<EmployeeOperation, Integer> weights = new EnumMap<>(EmployeeOperation.class);
+            for (String entry : mix.split(",")) {
+                String[] keyAndWeight = entry.trim().split("=");
+                if (keyAndWeight.length != 2) {
+                    throw new IllegalArgumentException("Expected operation=weight in the mix, got " + entry);
+                }
+                weights.put(valueOf(keyAndWeight[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(keyAndWeight[1].trim()));
+            }
+            return new Mix(weights);
+        }
+
+        EmployeeOperation pick(RandomGenerator random) {
+            int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (value < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            return operations[operations.length - 1];
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.mrugesh.crud.loadtest;
+
+import com.mrugesh.crud.dto.EmployeeDto;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Seeds the {@code employees} table of a Postgres database with synthetic employees through {@code COPY}.
+ *
+ * <p>Ids are reserved from {@code employees_seq} up front, so the application keeps allocating ids after the
+ * seeded ones. The change feed trigger is disabled while copying: a load test needs the rows, not millions of
+ * change events, and the change counter is bumped once instead so cached collections are revalidated. The email
+ * lookup trigger stays enabled, it keeps email ids unique and routable across the partitions. The tables are
+ * analyzed afterwards, giving the planner and the estimated page totals accurate statistics.</p>
+ *
+ * <p>Seeding locks the table, run it while the application is idle.</p>
+ *
+ * <pre>./gradlew seedEmployees --args="--rows 5000000 --url jdbc:postgresql://localhost:5432/cat"</pre>
+ */
+public final class EmployeeSeeder {
+
+    private static final String COPY_EMPLOYEES =
+            "COPY employees (id, first_name, last_name, email_id, version) FROM STDIN (FORMAT csv)";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final long PROGRESS_INTERVAL = 1_000_000;
+
+    private EmployeeSeeder() {
+    }
+
+    public static void main(String[] args) throws SQLException, IOException {
+        Arguments arguments = Arguments.parse(args);
+        long rows = arguments.getLong("rows", 1_000_000);
+        SyntheticEmployees employees = new SyntheticEmployees(arguments.getLong("seed", 42));
+        try (Connection connection = DriverManager.getConnection(
+                arguments.get("url", "jdbc:postgresql://localhost:5432/cat"),
+                arguments.get("username", "user-name"),
+                arguments.get("password", "strong-password"))) {
+            long start = System.nanoTime();
+            seed(connection, employees, rows);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Seeded %,d employees in %.1f s (%,.0f rows/s)%n", rows, seconds, rows / seconds);
+        }
+    }
+
+    static void seed(Connection connection, SyntheticEmployees employees, long rows) throws SQLException, IOException {
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            long firstId = reserveIds(statement, rows);
+            statement.execute("ALTER TABLE employees DISABLE TRIGGER employees_record_change_trg");
+            copy(connection, employees, firstId, rows);
+            statement.execute("ALTER TABLE employees ENABLE TRIGGER employees_record_change_trg");
+            statement.execute("UPDATE employees_change_counter SET value = value + 1 WHERE id = 1");
+            connection.commit();
+        } catch (SQLException | IOException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        }
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE employees");
+            statement.execute("ANALYZE employee_emails");
+        }
+    }
+
+    /**
+     * Moves {@code employees_seq} past a block of {@code rows} ids and returns the first id of the block.
+     *
+     * <p>The id allocated here is skipped, so a pooled block another instance holds can never overlap.</p>
+     */
+    private static long reserveIds(Statement statement, long rows) throws SQLException {
+        long increment = queryLong(statement, "SELECT increment_by FROM pg_sequences"
+                + " WHERE schemaname = current_schema() AND sequencename = 'employees_seq'");
+        long allocated = queryLong(statement, "SELECT nextval('employees_seq')");
+        long blocks = (rows + increment - 1) / increment;
+        queryLong(statement, "SELECT setval('employees_seq', " + (allocated + blocks * increment) + ")");
+        return allocated + 1;
+    }
+
+    private static void copy(Connection connection, SyntheticEmployees employees, long firstId, long rows)
+            throws SQLException, IOException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(pgConnection, COPY_EMPLOYEES, BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            for (long i = 0; i < rows; i++) {
+                long id = firstId + i;
+                // the id doubles as the email number, so emails stay unique across seeding runs
+                EmployeeDto employee = employees.employee(id);
+                writer.append(Long.toString(id)).append(',')
+                        .append(employee.getFirstName()).append(',')
+                        .append(employee.getLastName()).append(',')
+                        .append(employee.getEmail()).append(",0\n");
+                if ((i + 1) % PROGRESS_INTERVAL == 0) {
+                    System.out.printf("  %,d rows copied%n", i + 1);
+                }
+            }
+        }
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            if (!resultSet.next()) {
+                throw new SQLException("No result for " + sql);
+            }
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.mrugesh.crud.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and counters per operation of a load test run.
+ *
+ * <p>Latencies are recorded in microseconds from the intended start of each request, not from when it was
+ * actually sent, so a stalled service shows up in the percentiles instead of silently lowering the load
+ * (coordinated omission).</p>
+ */
+final class LoadReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<EmployeeOperation, OperationStats> stats = new EnumMap<>(EmployeeOperation.class);
+
+    LoadReport() {
+        for (EmployeeOperation operation : EmployeeOperation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    void record(EmployeeOperation operation, long latencyNanos, int status) {
+        OperationStats operationStats = stats.get(operation);
+        operationStats.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        if (status < 200 || status >= 400) {
+            operationStats.errors.increment();
+        }
+    }
+
+    /**
+     * Counts a request that could not be issued, e.g. a delete while no created employee is left.
+     */
+    void skipped(EmployeeOperation operation) {
+        stats.get(operation).skipped.increment();
+    }
+
+    /**
+     * Counts a request that was not sent because too many requests were already waiting for the service.
+     */
+    void dropped(EmployeeOperation operation) {
+        stats.get(operation).dropped.increment();
+    }
+
+    void print(PrintStream out, Duration measured) {
+        double seconds = measured.toNanos() / 1e9;
+        out.printf("%-8s %10s %8s %8s %8s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "skipped", "dropped", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        long skipped = 0;
+        long dropped = 0;
+        for (Map.Entry<EmployeeOperation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            if (operationStats.latency.getTotalCount() == 0 && operationStats.skipped.sum() == 0
+                    && operationStats.dropped.sum() == 0) {
+                continue;
+            }
+            all.add(operationStats.latency);
+            errors += operationStats.errors.sum();
+            skipped += operationStats.skipped.sum();
+            dropped += operationStats.dropped.sum();
+            printLine(out, entry.getKey().key(), operationStats.latency, operationStats.errors.sum(),
+                    operationStats.skipped.sum(), operationStats.dropped.sum(), seconds);
+        }
+        printLine(out, "all", all, errors, skipped, dropped, seconds);
+    }
+
+    /**
+     * Writes one percentile distribution per operation, in the {@code .hgrm} format of the HdrHistogram plotter.
+     */
+    void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<EmployeeOperation, OperationStats> entry : stats.entrySet()) {
+            Histogram latency = entry.getValue().latency;
+            if (latency.getTotalCount() == 0) {
+                continue;
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey().key() + ".hgrm")))) {
+                latency.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private static void printLine(PrintStream out, String name, Histogram latency, long errors, long skipped,
+                                  long dropped, double seconds) {
+        out.printf("%-8s %10d %8d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, latency.getTotalCount(), errors, skipped, dropped, latency.getTotalCount() / seconds,
+                millis(latency, 50), millis(latency, 90), millis(latency, 99), millis(latency, 99.9),
+                latency.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static double millis(Histogram latency, double percentile) {
+        return latency.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static final class OperationStats {
+
+        private final Histogram latency = new ConcurrentHistogram(3);
+
+        private final LongAdder errors = new LongAdder();
+
+        private final LongAdder skipped = new LongAdder();
+
+        private final LongAdder dropped = new LongAdder();
+    }
+}
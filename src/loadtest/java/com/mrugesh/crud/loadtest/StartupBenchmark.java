@@ -0,0 +1,116 @@
+package com.mrugesh.crud.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures how long the application takes from launch to its first successful {@code GET /api/employees/{id}}.
+ *
+ * <p>Each run starts a fresh JVM and polls the endpoint until it answers 200. The plain boot jar is compared with
+ * the production startup mode, the prod profile with AOT-generated code and the CDS archive recorded by the
+ * {@code cdsArchive} task, when that archive exists. Both need the database the application is configured for,
+ * holding the employee with the given id.</p>
+ *
+ * <pre>./gradlew startupBenchmark --args="--id 1 --runs 5"</pre>
+ */
+public final class StartupBenchmark {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    private final String java = ProcessHandle.current().info().command().orElse("java");
+
+    private final Path logDir;
+
+    private StartupBenchmark(Path logDir) {
+        this.logDir = logDir;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Arguments arguments = Arguments.parse(args);
+        Path bootJar = Path.of(arguments.get("jar", System.getProperty("crud.boot-jar", "build/libs/crud-0.0.1-SNAPSHOT.jar")));
+        Path cdsDir = Path.of(arguments.get("cds-dir", System.getProperty("crud.cds-dir", "build/cds")));
+        long employeeId = arguments.getLong("id", 1);
+        int runs = (int) arguments.getLong("runs", 5);
+        int port = (int) arguments.getLong("port", 18080);
+        Duration timeout = arguments.getDuration("timeout", Duration.ofMinutes(2));
+
+        Map<String, Launch> launches = new LinkedHashMap<>();
+        launches.put("plain jar", new Launch(bootJar.toAbsolutePath().getParent(), List.of("-jar", bootJar.toAbsolutePath().toString())));
+        if (Files.exists(cdsDir.resolve("application.jsa"))) {
+            launches.put("prod, AOT + CDS", new Launch(cdsDir, List.of("-XX:SharedArchiveFile=application.jsa",
+                    "-Dspring.aot.enabled=true", "-Dspring.profiles.active=prod",
+                    "-jar", bootJar.getFileName().toString())));
+        } else {
+            System.out.println("No CDS archive in " + cdsDir + ", run ./gradlew cdsArchive to compare the prod startup");
+        }
+
+        StartupBenchmark benchmark = new StartupBenchmark(Path.of("build/reports/startup"));
+        Files.createDirectories(benchmark.logDir);
+        URI uri = URI.create("http://localhost:" + port + "/api/employees/" + employeeId);
+        System.out.printf("%-18s %6s %10s %10s %10s%n", "launch", "runs", "min ms", "median ms", "max ms");
+        for (Map.Entry<String, Launch> launch : launches.entrySet()) {
+            long[] millis = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                millis[run] = benchmark.timeToFirstResponse(launch.getKey(), run, launch.getValue(), port, uri, timeout);
+            }
+            Arrays.sort(millis);
+            System.out.printf("%-18s %6d %10d %10d %10d%n", launch.getKey(), runs, millis[0], millis[runs / 2], millis[runs - 1]);
+        }
+    }
+
+    private long timeToFirstResponse(String name, int run, Launch launch, int port, URI uri, Duration timeout)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(launch.arguments());
+        command.add("--server.port=" + port);
+        File log = logDir.resolve(name.replaceAll("\\W+", "-") + "-" + run + ".log").toFile();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(launch.directory().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            long deadline = start + timeout.toNanos();
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).build();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            throw new IllegalStateException("No successful response within " + timeout + ", see " + log);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private record Launch(Path directory, List<String> arguments) {
+    }
+}
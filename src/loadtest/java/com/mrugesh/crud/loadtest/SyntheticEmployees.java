@@ -0,0 +1,93 @@
+package com.mrugesh.crud.loadtest;
+
+import com.mrugesh.crud.dto.EmployeeDto;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Reproducible source of synthetic employees for seeding and load generation.
+ *
+ * <p>Names are drawn from lists of common first and last names with a Zipf-like skew, so a few names are
+ * frequent and most are rare, as in real directories. Employee {@code n} of a given seed is always the same,
+ * and its email embeds {@code n}, which keeps emails unique however many rows are generated.</p>
+ */
+final class SyntheticEmployees {
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Priya", "Wei", "Mohammed", "Fatima", "Hiroshi", "Yuki", "Carlos", "Sofia", "Olga", "Ivan",
+            "Aarav", "Ananya", "Mateo", "Lucia", "Kwame", "Amara", "Lars", "Ingrid", "Giulia", "Luca",
+            "Chen", "Mei", "Omar", "Leila", "Pierre", "Camille", "Noah", "Emma", "Mrugesh", "Zanele"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Patel", "Shah", "Limbachiya", "Kumar", "Singh", "Wang", "Li", "Zhang", "Nguyen", "Kim",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Muller", "Schmidt", "Rossi", "Russo", "Dubois", "Moreau", "Ivanov", "Petrov", "Sato", "Suzuki",
+            "Okafor", "Mensah", "Haddad", "Khan", "Silva", "Santos", "Andersen", "Nielsen", "Kowalski", "Novak"
+    };
+
+    private static final String EMAIL_DOMAIN = "@loadtest.example";
+
+    private final long seed;
+
+    private final double[] firstNameWeights = zipfWeights(FIRST_NAMES.length);
+
+    private final double[] lastNameWeights = zipfWeights(LAST_NAMES.length);
+
+    SyntheticEmployees(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Generates employee {@code n}, without id and version.
+     */
+    EmployeeDto employee(long n) {
+        SplittableRandom random = new SplittableRandom(seed ^ (n * 0x9E3779B97F4A7C15L));
+        String firstName = FIRST_NAMES[pick(firstNameWeights, random.nextDouble())];
+        String lastName = LAST_NAMES[pick(lastNameWeights, random.nextDouble())];
+        return new EmployeeDto(null, firstName, lastName, email(firstName, lastName, n), null);
+    }
+
+    /**
+     * Draws a last name with the same skew as the generated employees.
+     */
+    String lastName(RandomGenerator random) {
+        return LAST_NAMES[pick(lastNameWeights, random.nextDouble())];
+    }
+
+    /**
+     * The email of employee {@code n}, unique per {@code n}.
+     */
+    static String email(String firstName, String lastName, long n) {
+        return firstName.toLowerCase() + "." + lastName.toLowerCase() + "." + n + EMAIL_DOMAIN;
+    }
+
+    /**
+     * Cumulative weights {@code 1/rank}, normalized to end at 1.
+     */
+    private static double[] zipfWeights(int count) {
+        double[] cumulative = new double[count];
+        double sum = 0;
+        for (int rank = 1; rank <= count; rank++) {
+            sum += 1.0 / rank;
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < count; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulative, double value) {
+        for (int i = 0; i < cumulative.length; i++) {
+            if (value < cumulative[i]) {
+                return i;
+            }
+        }
+        return cumulative.length - 1;
+    }
+}
@@ -0,0 +1,95 @@
+package com.mrugesh.crud.aspect;
+
+import com.mrugesh.crud.config.BulkheadProperties;
+import com.mrugesh.crud.exception.ServiceOverloadedException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulkhead in front of the repository layer.
+ *
+ * <p>A service call holds its database connection for the whole transaction, so the permit is taken around
+ * {@code EmployeeService} methods, just outside the transaction advice. With virtual threads thousands of
+ * requests can arrive at once; without this limit they would all queue inside the connection pool and time out
+ * together. Calls that cannot get a permit within the configured timeout fail fast with a
+ * {@link ServiceOverloadedException}.</p>
+ *
+ * <p>Permits are held per thread: a service call made while the thread already holds a permit, e.g. the listing
+ * read by {@code readWithChangeCount} or an after-commit listener, runs in the transaction of the outer call and
+ * uses its permit. Asking for a second permit there would let calls holding every permit wait for each other
+ * until they all time out.</p>
+ *
+ * <p>{@link Semaphore} parks waiting threads without holding a monitor, so waiting virtual threads stay unmounted.</p>
+ */
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class RepositoryBulkheadAspect {
+
+    private final Semaphore permits;
+
+    private final long acquireTimeoutNanos;
+
+    // set while the current thread holds a permit taken by limitConcurrency
+    private final ThreadLocal<Boolean> holdingPermit = new ThreadLocal<>();
+
+    public RepositoryBulkheadAspect(BulkheadProperties bulkheadProperties) {
+        this.permits = new Semaphore(bulkheadProperties.getMaxConcurrentCalls(), true);
+        this.acquireTimeoutNanos = bulkheadProperties.getAcquireTimeout().toNanos();
+    }
+
+    // only the methods declared by the interface, not public helpers or event listeners of the implementation
+    @Around("execution(* com.mrugesh.crud.service.EmployeeService.*(..))")
+    public Object limitConcurrency(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (holdingPermit.get() != null) {
+            return joinPoint.proceed();
+        }
+        if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+            throw new ServiceOverloadedException("Too many concurrent database calls, please retry later");
+        }
+        holdingPermit.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            holdingPermit.remove();
+            permits.release();
+        }
+    }
+
+    /**
+     * Takes up to {@code max} permits for connections a call opens next to the one of its transaction, without
+     * waiting: a call holding a connection must not wait for another one, or a few such calls could take the
+     * whole pool and wait for each other.
+     *
+     * @param max the number of permits wanted
+     * @return the number of permits taken, to be handed back with {@link #release(int)}
+     */
+    public int tryAcquire(int max) {
+        int acquired = 0;
+        while (acquired < max && permits.tryAcquire()) {
+            acquired++;
+        }
+        return acquired;
+    }
+
+    /**
+     * Hands back permits taken with {@link #tryAcquire(int)}.
+     *
+     * @param count the number of permits taken
+     */
+    public void release(int count) {
+        permits.release(count);
+    }
+
+    /**
+     * @return the number of permits currently available
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
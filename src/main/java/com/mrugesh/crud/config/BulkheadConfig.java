@@ -0,0 +1,21 @@
+package com.mrugesh.crud.config;
+
+import com.mrugesh.crud.aspect.RepositoryBulkheadAspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link RepositoryBulkheadAspect} when {@code crud.bulkhead.enabled} is set.
+ */
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "crud.bulkhead", name = "enabled", havingValue = "true")
+    public RepositoryBulkheadAspect repositoryBulkheadAspect(BulkheadProperties bulkheadProperties) {
+        return new RepositoryBulkheadAspect(bulkheadProperties);
+    }
+}
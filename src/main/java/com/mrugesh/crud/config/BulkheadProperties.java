@@ -0,0 +1,31 @@
+package com.mrugesh.crud.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the bulkhead limiting how many service calls may use the database at once.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "crud.bulkhead")
+public class BulkheadProperties {
+
+    /**
+     * Whether the bulkhead is active.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of concurrent calls, normally the size of the connection pool.
+     */
+    private int maxConcurrentCalls = 10;
+
+    /**
+     * How long a call waits for a permit before it is rejected.
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+}
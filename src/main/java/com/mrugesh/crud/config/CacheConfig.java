@@ -0,0 +1,46 @@
+package com.mrugesh.crud.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Enables Spring's cache abstraction, backed by the Caffeine cache configured in {@code application.yml}.
+ *
+ * <p>The caching advice is ordered outside the transaction advice (and the repository bulkhead) so entries are
+ * only written or evicted once the surrounding transaction has completed, and cache hits never wait for a permit.</p>
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 2)
+public class CacheConfig {
+
+    /**
+     * Cache of {@code EmployeeDto} values keyed by employee id.
+     */
+    public static final String EMPLOYEES_CACHE = "employees";
+
+    /**
+     * Cache of the total number of employees, evicted when employees are created or deleted.
+     */
+    public static final String EMPLOYEE_COUNT_CACHE = "employee-count";
+
+    /**
+     * Registers the {@value #EMPLOYEE_COUNT_CACHE} cache with a lifetime of its own, so counts that were not
+     * evicted, e.g. rows written by another instance, are only served for a few seconds.
+     *
+     * @return customizer adding the cache to the Caffeine cache manager
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> employeeCountCacheCustomizer() {
+        return cacheManager -> cacheManager.registerCustomCache(EMPLOYEE_COUNT_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(5))
+                .recordStats()
+                .build());
+    }
+}
@@ -0,0 +1,12 @@
+package com.mrugesh.crud.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the {@link ChangeFeedProperties} of the employee change feed.
+ */
+@Configuration
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class ChangeFeedConfig {
+}
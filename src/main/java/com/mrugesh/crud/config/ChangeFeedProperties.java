@@ -0,0 +1,43 @@
+package com.mrugesh.crud.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the employee change feed.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "crud.change-feed")
+public class ChangeFeedProperties {
+
+    /**
+     * How long to wait after a commit before waking the consumers, so that writes committed in a burst reach
+     * them as one batch.
+     */
+    private Duration linger = Duration.ofMillis(20);
+
+    /**
+     * How often the outbox is read even without a local commit, for writes made by other instances.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Maximum number of changes per batch.
+     */
+    private int maxBatchSize = 1000;
+
+    /**
+     * How long changes are kept in the outbox. Consumers resuming from a position older than this are told to
+     * resync.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * How often changes older than the retention are deleted.
+     */
+    private Duration pruneInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,41 @@
+package com.mrugesh.crud.config;
+
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps the application {@link DataSource} in a datasource-proxy.
+ *
+ * <p>The proxy logs every statement slower than {@code crud.sql.slow-query-threshold} together with its bind
+ * parameters, and counts the statements of the current thread so they can be reported per HTTP request
+ * by {@code SqlStatementMetricsInterceptor}.</p>
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(
+            @Value("${crud.sql.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .logSlowQueryBySlf4j(slowQueryThreshold.toMillis(), TimeUnit.MILLISECONDS, SLF4JLogLevel.WARN)
+                        .countQuery()
+                        .build();
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.mrugesh.crud.config;
+
+import com.mrugesh.crud.datasource.ReplicaPools;
+import com.mrugesh.crud.datasource.ReplicaRoutingDataSource;
+import com.mrugesh.crud.interceptor.ReadYourWritesInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured {@link DataSource} with one that sends read-only transactions to read replicas
+ * when {@code crud.datasource.routing.enabled} is set.
+ *
+ * <p>The primary pool is built from {@code spring.datasource.*}, every replica pool copies its Hikari settings,
+ * and each pool publishes its {@code hikaricp.*} metrics under its own name.</p>
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@ConditionalOnProperty(prefix = "crud.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReplicaPools replicaPools(DataSourceProperties dataSourceProperties,
+                                     DataSourceRoutingProperties routingProperties,
+                                     Environment environment,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName(ReplicaPools.PRIMARY);
+
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (DataSourceRoutingProperties.Replica replica : routingProperties.getReplicas()) {
+            HikariDataSource pool = new HikariDataSource();
+            primary.copyStateTo(pool);
+            pool.setPoolName(replica.getName());
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername());
+            pool.setPassword(replica.getPassword());
+            replicas.put(replica.getName(), pool);
+        }
+
+        ReplicaPools pools = new ReplicaPools(primary, replicas, routingProperties.getHealthCheckInterval());
+        meterRegistry.ifAvailable(registry -> {
+            primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.forEach((name, pool) -> {
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                Gauge.builder("crud.datasource.replica.healthy", pools, p -> p.isHealthy(name) ? 1 : 0)
+                        .description("Whether the replica serves reads")
+                        .tag("pool", name)
+                        .register(registry);
+            });
+        });
+        return pools;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaPools replicaPools, DataSourceRoutingProperties routingProperties) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        // known up front, otherwise the proxy opens a connection at startup to find out
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.setTargetDataSource(new ReplicaRoutingDataSource(replicaPools, routingProperties.getStickFor()));
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesInterceptor readYourWritesInterceptor(DataSourceRoutingProperties routingProperties) {
+        return new ReadYourWritesInterceptor(routingProperties.getStickFor());
+    }
+}
@@ -0,0 +1,54 @@
+package com.mrugesh.crud.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the read replicas that serve read-only transactions.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "crud.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    /**
+     * Whether read-only transactions are routed to the replicas.
+     */
+    private boolean enabled;
+
+    /**
+     * How long the reads of a client stay on the primary after it wrote, at least the replication lag.
+     */
+    private Duration stickFor = Duration.ofSeconds(5);
+
+    /**
+     * How often the replicas are probed.
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * The replicas, they share the pool settings of {@code spring.datasource.hikari}.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        /**
+         * Name of the replica, also the name of its connection pool.
+         */
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+    }
+}
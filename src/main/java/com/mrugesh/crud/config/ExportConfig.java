@@ -0,0 +1,24 @@
+package com.mrugesh.crud.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the {@link ExportProperties} of the employee export.
+ *
+ * <p>An export holds a connection and opens {@code crud.export.parallelism} more, so the parallelism has to stay
+ * below the size of the pool: an export asking for the whole pool would wait for connections it can never get.</p>
+ */
+@Configuration
+@EnableConfigurationProperties(ExportProperties.class)
+public class ExportConfig {
+
+    public ExportConfig(ExportProperties exportProperties,
+                        @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize) {
+        if (exportProperties.getParallelism() >= maximumPoolSize) {
+            throw new IllegalStateException("crud.export.parallelism (" + exportProperties.getParallelism()
+                    + ") must be below spring.datasource.hikari.maximum-pool-size (" + maximumPoolSize + ")");
+        }
+    }
+}
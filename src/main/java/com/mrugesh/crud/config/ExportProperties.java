@@ -0,0 +1,39 @@
+package com.mrugesh.crud.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the employee export.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "crud.export")
+public class ExportProperties {
+
+    /**
+     * How many partitions of the employees table an export reads at the same time. Every one of them holds a
+     * connection, next to the one holding the shared snapshot, so it must stay below the pool size. With the
+     * bulkhead enabled a reader also needs a free permit, an export that gets fewer than two reads sequentially.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Rows fetched from the database at a time by every partition reader.
+     */
+    private int fetchSize = 500;
+
+    /**
+     * How many rows the partition readers may be ahead of the client before they wait for it.
+     */
+    private int bufferSize = 4096;
+
+    /**
+     * How long an export may stream. It holds a snapshot, connections and bulkhead permits meanwhile, past this
+     * the export fails and releases them. Keep below {@code spring.mvc.async.request-timeout}.
+     */
+    private Duration timeout = Duration.ofMinutes(20);
+}
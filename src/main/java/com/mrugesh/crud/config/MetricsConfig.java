@@ -0,0 +1,22 @@
+package com.mrugesh.crud.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Micrometer setup for the hot paths.
+ *
+ * <p>The {@link TimedAspect} turns the {@code @Timed} annotations on the controller and the service into
+ * timers with percentile histograms, one series per class and method, scrapeable from
+ * {@code /actuator/prometheus}.</p>
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
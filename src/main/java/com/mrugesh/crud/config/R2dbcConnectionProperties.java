@@ -0,0 +1,40 @@
+package com.mrugesh.crud.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the R2DBC connection pool used by the reactive employee API.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "crud.r2dbc")
+public class R2dbcConnectionProperties {
+
+    /**
+     * R2DBC URL of the database, e.g. {@code r2dbc:postgresql://localhost:5432/cat}.
+     */
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * Maximum number of pooled connections.
+     */
+    private int maxSize = 10;
+
+    /**
+     * How long a request waits for a free connection before it fails.
+     */
+    private Duration maxAcquireTime = Duration.ofSeconds(5);
+
+    /**
+     * Rows fetched per round trip while streaming, the demand forwarded to the database.
+     */
+    private int streamFetchSize = 256;
+}
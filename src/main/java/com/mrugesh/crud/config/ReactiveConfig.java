@@ -0,0 +1,45 @@
+package com.mrugesh.crud.config;
+
+import com.mrugesh.crud.datasource.R2dbcPool;
+import com.mrugesh.crud.repository.ReactiveEmployeeRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Infrastructure of the reactive employee API, active with the {@code reactive} profile.
+ *
+ * <p>Netty is registered explicitly, otherwise Spring Boot would pick Tomcat, which is on the classpath for the
+ * servlet stack, to run WebFlux as well. The R2DBC transaction manager is only used by the
+ * {@link ReactiveEmployeeRepository}: as a bean it would replace the JPA transaction manager.</p>
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(R2dbcConnectionProperties.class)
+public class ReactiveConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public R2dbcPool r2dbcPool(R2dbcConnectionProperties r2dbcConnectionProperties) {
+        return new R2dbcPool(r2dbcConnectionProperties);
+    }
+
+    @Bean
+    public ReactiveEmployeeRepository reactiveEmployeeRepository(R2dbcPool r2dbcPool,
+                                                                 R2dbcConnectionProperties r2dbcConnectionProperties) {
+        ConnectionFactory connectionFactory = r2dbcPool.getConnectionFactory();
+        return new ReactiveEmployeeRepository(DatabaseClient.create(connectionFactory),
+                TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory)),
+                r2dbcConnectionProperties.getStreamFetchSize());
+    }
+}
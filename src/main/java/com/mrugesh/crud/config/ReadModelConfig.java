@@ -0,0 +1,12 @@
+package com.mrugesh.crud.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the {@link ReadModelProperties} of the in-memory employee read model.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadModelProperties.class)
+public class ReadModelConfig {
+}
@@ -0,0 +1,36 @@
+package com.mrugesh.crud.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the in-memory employee read model.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "crud.read-model")
+public class ReadModelProperties {
+
+    /**
+     * Whether the employees table is loaded into memory at startup and reads are served from it.
+     */
+    private boolean enabled;
+
+    /**
+     * How often writes are merged into the sorted indexes, the longest a sorted or paged listing trails a write.
+     */
+    private Duration indexRefreshInterval = Duration.ofMillis(100);
+
+    /**
+     * How often the table is read again from scratch, which repairs writes the change feed did not record.
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(15);
+
+    /**
+     * How long a deleted employee id is remembered, so an older version of the employee arriving late is ignored.
+     */
+    private Duration tombstoneRetention = Duration.ofMinutes(5);
+}
@@ -0,0 +1,34 @@
+package com.mrugesh.crud.config;
+
+import com.mrugesh.crud.dto.BulkItemResultDto;
+import com.mrugesh.crud.dto.EmployeeChangeBatchDto;
+import com.mrugesh.crud.dto.EmployeeChangeDto;
+import com.mrugesh.crud.dto.EmployeeDto;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Registers the runtime hints AOT processing cannot infer from the bean definitions, so the application
+ * also runs as a GraalVM native image.
+ *
+ * <p>Controller return types are registered for Jackson automatically. The DTOs written through
+ * {@code ObjectWriter}s (NDJSON export) or {@code SseEmitter}s (change feed) and the Flyway migrations run at
+ * startup are not.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(RuntimeHintsConfig.CrudRuntimeHints.class)
+public class RuntimeHintsConfig {
+
+    static class CrudRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    EmployeeDto.class, BulkItemResultDto.class, EmployeeChangeDto.class, EmployeeChangeBatchDto.class);
+            hints.resources().registerPattern("db/migration/*/*.sql");
+        }
+    }
+}
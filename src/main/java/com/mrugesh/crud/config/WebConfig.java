@@ -0,0 +1,30 @@
+package com.mrugesh.crud.config;
+
+import com.mrugesh.crud.interceptor.ReadYourWritesInterceptor;
+import com.mrugesh.crud.interceptor.SqlStatementMetricsInterceptor;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration of the employee API.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@AllArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private SqlStatementMetricsInterceptor sqlStatementMetricsInterceptor;
+
+    private ObjectProvider<ReadYourWritesInterceptor> readYourWritesInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlStatementMetricsInterceptor).addPathPatterns("/api/**");
+        readYourWritesInterceptor.ifAvailable(interceptor ->
+                registry.addInterceptor(interceptor).addPathPatterns("/api/**"));
+    }
+}
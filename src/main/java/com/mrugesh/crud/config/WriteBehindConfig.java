@@ -0,0 +1,35 @@
+package com.mrugesh.crud.config;
+
+import com.mrugesh.crud.service.impl.EmployeeBatchWriter;
+import com.mrugesh.crud.service.impl.EmployeeReadModel;
+import com.mrugesh.crud.service.impl.EmployeeWriteBehindQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link EmployeeWriteBehindQueue} when {@code crud.write-behind.enabled} is set.
+ */
+@Configuration
+@EnableConfigurationProperties(WriteBehindProperties.class)
+public class WriteBehindConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "crud.write-behind", name = "enabled", havingValue = "true")
+    public EmployeeWriteBehindQueue employeeWriteBehindQueue(EmployeeBatchWriter employeeBatchWriter,
+                                                             EmployeeReadModel employeeReadModel,
+                                                             CacheManager cacheManager,
+                                                             WriteBehindProperties writeBehindProperties,
+                                                             ObjectProvider<DataSourceRoutingProperties> routingProperties,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        DataSourceRoutingProperties routing = routingProperties.getIfAvailable();
+        EmployeeWriteBehindQueue queue = new EmployeeWriteBehindQueue(employeeBatchWriter, employeeReadModel,
+                cacheManager, writeBehindProperties, routing == null ? null : routing.getStickFor());
+        meterRegistry.ifAvailable(queue::bindTo);
+        return queue;
+    }
+}
@@ -0,0 +1,36 @@
+package com.mrugesh.crud.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the write-behind queue grouping single employee creations into batched commits.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "crud.write-behind")
+public class WriteBehindProperties {
+
+    /**
+     * Whether {@code POST /api/employees} goes through the queue.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of waiting creations, further requests are rejected.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Maximum number of creations written together.
+     */
+    private int maxBatchSize = 50;
+
+    /**
+     * How long the writer waits for more creations once it holds one, the latency added at low load.
+     */
+    private Duration maxWait = Duration.ofMillis(5);
+}
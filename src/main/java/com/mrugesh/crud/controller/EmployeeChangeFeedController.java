@@ -0,0 +1,123 @@
+package com.mrugesh.crud.controller;
+
+import com.mrugesh.crud.dto.EmployeeChangeBatchDto;
+import com.mrugesh.crud.exception.InvalidRequestException;
+import com.mrugesh.crud.service.EmployeeChangeService;
+import io.micrometer.core.annotation.Timed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This controller exposes the employee change feed, so consumers receive deltas instead of polling the whole list.
+ *
+ * <p>Every batch carries the sequence number to resume from. Consumers keep it and send it back as
+ * {@code after}, or as {@code Last-Event-ID} when an event stream reconnects. Changes are kept for a limited
+ * time: a consumer resuming from a position older than that gets a batch flagged {@code resync} instead, reloads
+ * the employees and resumes from the position of that batch.</p>
+ */
+@Tag(name= "Employee Changes", description = "Employee Change Feed APIs")
+@RestController
+@RequestMapping("/api/employees/changes")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Timed(value = "employee.changes.controller", histogram = true)
+public class EmployeeChangeFeedController {
+
+    private static final Duration MAX_POLL_TIMEOUT = Duration.ofSeconds(60);
+
+    public EmployeeChangeService employeeChangeService;
+
+    /**
+     * Constructs an EmployeeChangeFeedController with the specified EmployeeChangeService.
+     *
+     * @param employeeChangeService the service reading the change feed
+     */
+    public EmployeeChangeFeedController(EmployeeChangeService employeeChangeService) {
+        this.employeeChangeService = employeeChangeService;
+    }
+
+    /**
+     * Waits for the changes following a position of the feed.
+     *
+     * @param after the last sequence number the consumer has seen
+     * @param limit maximum number of changes read for the batch
+     * @param timeout how long to wait, in seconds, when there is no change yet
+     * @return the next batch, or an empty batch with the same position after the timeout
+     */
+    @Operation(
+            summary = "Poll Employee Changes",
+            description = "Long poll for the creates, updates and deletes following the sequence number 'after'. Answers as soon as there are changes, or with an empty batch after the timeout. Several changes of one employee within a batch are coalesced into the last one. When changes following 'after' were already deleted, the batch is empty and flagged 'resync': reload the employees, then resume from its nextSeq.",
+            tags = { "employee", "changes"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch of changes, empty when the timeout elapsed first or when a resync is needed", content = {@Content(schema = @Schema(implementation = EmployeeChangeBatchDto.class), mediaType = "application/json")}),
+            @ApiResponse(responseCode = "400", description = "Invalid position, limit or timeout", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
+    })
+    //Build Poll Employee Changes REST API
+    @GetMapping
+    public CompletableFuture<EmployeeChangeBatchDto> pollChanges(@RequestParam(defaultValue = "0") long after,
+                                                                 @RequestParam(defaultValue = "500") int limit,
+                                                                 @RequestParam(defaultValue = "30") long timeout){
+        Duration pollTimeout = Duration.ofSeconds(timeout);
+        if (pollTimeout.isNegative() || pollTimeout.compareTo(MAX_POLL_TIMEOUT) > 0) {
+            throw new InvalidRequestException("timeout must be between 0 and " + MAX_POLL_TIMEOUT.toSeconds() + " seconds");
+        }
+        if (pollTimeout.isZero()) {
+            return CompletableFuture.completedFuture(employeeChangeService.getChanges(after, limit));
+        }
+        return employeeChangeService.pollChanges(after, limit, pollTimeout);
+    }
+
+    /**
+     * Streams the changes following a position of the feed as Server-Sent Events.
+     *
+     * @param after the last sequence number the consumer has seen
+     * @param lastEventId the id of the last event received, sent by reconnecting clients, takes precedence over after
+     * @return the event stream, one {@code changes} event per batch, or a {@code resync} event when changes were
+     *         deleted, with the batch's nextSeq as event id
+     */
+    @Operation(
+            summary = "Stream Employee Changes",
+            description = "Server-Sent Events stream of the creates, updates and deletes following the sequence number 'after'. Each event is a batch whose id is the position to resume from. A 'resync' event tells the client that changes following its position were deleted: it reloads the employees and the stream goes on from the end of the feed.",
+            tags = { "employee", "changes"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event stream of change batches", content = {@Content(schema = @Schema(implementation = EmployeeChangeBatchDto.class), mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)}),
+            @ApiResponse(responseCode = "400", description = "Invalid position", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
+    })
+    //Build Stream Employee Changes REST API
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(defaultValue = "0") long after,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId){
+        SseEmitter emitter = new SseEmitter();
+        Runnable cancel = employeeChangeService.subscribe(lastEventId != null ? lastEventId : after, batch -> {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(batch.getNextSeq()))
+                        .name(batch.isResync() ? "resync" : "changes")
+                        .data(batch, MediaType.APPLICATION_JSON));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // the client went away or the emitter timed out
+                return false;
+            }
+        });
+        emitter.onCompletion(cancel);
+        emitter.onTimeout(cancel);
+        emitter.onError(e -> cancel.run());
+        return emitter;
+    }
+}
@@ -1,7 +1,24 @@
 package com.mrugesh.crud.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mrugesh.crud.datasource.ReadYourWritesContext;
+import com.mrugesh.crud.dto.BulkItemResultDto;
+import com.mrugesh.crud.dto.EmployeeBatchDto;
 import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.dto.EmployeePageDto;
+import com.mrugesh.crud.dto.EmployeeSearchCriteria;
+import com.mrugesh.crud.dto.EmployeeWindowDto;
+import com.mrugesh.crud.exception.PreconditionFailedException;
+import com.mrugesh.crud.exception.ResourceConflictException;
+import com.mrugesh.crud.mapper.ETagMapper;
 import com.mrugesh.crud.service.EmployeeService;
+import com.mrugesh.crud.service.impl.EmployeeWriteBehindQueue;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,37 +26,90 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.data.domain.Page;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * This controller provides CRUD operations for managing employees.
+ *
+ * <p>Responses carry strong ETags: the version for a single employee and the table-level change counter for
+ * collections. Requests with a matching {@code If-None-Match} get a 304 without a body, and writes honour
+ * {@code If-Match} with a 412 when the employee changed in the meantime.</p>
+ *
+ * <p>Besides JSON, the endpoints answer {@code application/cbor} and {@code application/x-jackson-smile} when
+ * the client asks for them in {@code Accept}, which keeps bulk pages considerably smaller. Those responses vary
+ * by {@code Accept}, and larger responses, including the NDJSON export, are gzip compressed by the server. Every
+ * encoding of a version has an ETag of its own, see {@link ETagMapper}.</p>
  */
 @Tag(name= "Employee", description = "Employee Management APIs")
 @RestController
 @RequestMapping("/api/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Timed(value = "employee.controller", histogram = true)
 public class EmployeeController {
 
+    // the encodings of employee bodies, the first one is the default
+    private static final List<MediaType> ENCODINGS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+            MediaType.valueOf("application/x-jackson-smile"));
+
     public EmployeeService employeeService;
 
+    private final ObjectWriter ndjsonWriter;
+
+    private final ObjectReader ndjsonReader;
+
+    private final EmployeeWriteBehindQueue writeBehindQueue;
+
     /**
      * Constructs an EmployeeController with the specified EmployeeService.
      *
      * @param employeeService the service used to manage employees
+     * @param objectMapper the application's JSON mapper, used to stream NDJSON exports and imports
+     * @param writeBehindQueue the queue batching creations, present when {@code crud.write-behind.enabled} is set
      */
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper,
+                              ObjectProvider<EmployeeWriteBehindQueue> writeBehindQueue) {
         this.employeeService = employeeService;
+        this.writeBehindQueue = writeBehindQueue.getIfAvailable();
+        this.ndjsonWriter = objectMapper.writerFor(EmployeeDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+        this.ndjsonReader = objectMapper.readerFor(EmployeeDto.class);
     }
 
     /**
      * Creates a new employee record with the provided first name, last name, and email ID.
      *
+     * <p>With write-behind enabled the creation is queued and committed together with other creations, and a
+     * {@link CompletableFuture} frees the request thread meanwhile; the response is still only sent once the
+     * employee is stored. Without it the employee is created on the request thread and the response entity is
+     * returned directly, without an asynchronous dispatch.</p>
+     *
      * @param employeeDto the employee data transfer object containing the new employee's information
-     * @return ResponseEntity containing the created EmployeeDto and HTTP status 201 (Created)
+     * @return ResponseEntity containing the created EmployeeDto and HTTP status 201 (Created), or a
+     * CompletableFuture of it with write-behind enabled
      */
     @Operation(
             summary = "Create Employee",
@@ -49,14 +119,50 @@ public class EmployeeController {
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Employee created successfully", content = {@Content(schema = @Schema(implementation = EmployeeDto.class), mediaType = "application/json")}),
             @ApiResponse(responseCode = "400", description = "Invalid input", content = {@Content(schema = @Schema())}),
-            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
+            @ApiResponse(responseCode = "409", description = "Employee conflicts with another one, e.g. a duplicate email ID (write-behind only)", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "503", description = "Too many creations waiting or database unavailable, retry later (write-behind only)", content = {@Content(schema = @Schema())})
     })
 
     //Build Add Employee REST API
     @PostMapping
-    public ResponseEntity<EmployeeDto> createEmployee(@RequestBody EmployeeDto employeeDto){
-        EmployeeDto savedEmployee = employeeService.createEmployee(employeeDto);
-        return new ResponseEntity<>(savedEmployee, HttpStatus.CREATED);
+    public Object createEmployee(@RequestBody EmployeeDto employeeDto, WebRequest webRequest){
+        // negotiated on the request thread, the future may complete on another one
+        MediaType encoding = encoding(webRequest);
+        // Spring MVC picks the return value handler from the type of the returned value
+        if (writeBehindQueue == null) {
+            return created(employeeService.createEmployee(employeeDto), encoding);
+        }
+        return writeBehindQueue.submit(employeeDto).thenApply(employee -> created(employee, encoding));
+    }
+
+    /**
+     * Creates employee records in bulk from a JSON array.
+     *
+     * @param employeeDtos the employees to create
+     * @return ResponseEntity containing one BulkItemResultDto per employee and HTTP status 200 (OK)
+     */
+    @Operation(
+            summary = "Create Employees in Bulk",
+            description = "Create many employee records at once, either from a JSON array or from a newline-delimited JSON stream. Every item gets its own result, so one invalid row does not fail the others.",
+            tags = { "employee", "post" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Bulk request processed, see the per item status", content = {@Content(array = @ArraySchema(schema = @Schema(implementation = BulkItemResultDto.class)), mediaType = "application/json")}),
+            @ApiResponse(responseCode = "400", description = "Invalid input", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
+    })
+    //Build Bulk Add Employee REST API
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkItemResultDto>> createEmployees(@RequestBody List<EmployeeDto> employeeDtos){
+        return ResponseEntity.ok(employeeService.createEmployees(employeeDtos));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BulkItemResultDto>> createEmployeesFromStream(InputStream inputStream) throws IOException {
+        try (MappingIterator<EmployeeDto> employeeDtos = ndjsonReader.readValues(inputStream)) {
+            return ResponseEntity.ok(employeeService.createEmployees(() -> employeeDtos));
+        }
     }
 
     /**
@@ -72,14 +178,65 @@ public class EmployeeController {
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Employee information retrieved Successfully", content = {@Content(schema = @Schema(implementation = EmployeeDto.class), mediaType = "application/json")}),
-            @ApiResponse(responseCode = "404", description = "Employee not found", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "304", description = "Employee not modified since the ETag in If-None-Match", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "404", description = "Employee not found", content = {@Content(schema = @Schema(implementation = ProblemDetail.class), mediaType = "application/problem+json")}),
             @ApiResponse(responseCode = "500", description = "Server Error", content = {@Content(schema = @Schema())})
     })
     //Build Get Employee REST API
     @GetMapping("{id}")
-    public ResponseEntity<EmployeeDto> getEmployeeById(@PathVariable("id") Long employeeId){
-        EmployeeDto employeeDto = employeeService.getEmployeeById(employeeId);
-        return ResponseEntity.ok(employeeDto);
+    public ResponseEntity<EmployeeDto> getEmployeeById(@PathVariable("id") Long employeeId, WebRequest webRequest){
+        // unknown ids are probed often, they are answered without throwing
+        return employeeService.findEmployeeById(employeeId)
+                // a matching If-None-Match turns this into a 304 before the body is serialized
+                .map(employeeDto -> encoded(ResponseEntity.ok(), employeeDto.getVersion(), encoding(webRequest))
+                        .body(employeeDto))
+                .orElseGet(() -> ResponseEntity.of(ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND,
+                        "Employee not exist with given id: " + employeeId)).build());
+    }
+
+    /**
+     * Retrieves several employees by their IDs in one request.
+     *
+     * @param ids the IDs of the employees, e.g. {@code ?ids=1,2,3}
+     * @return ResponseEntity containing the EmployeeBatchDto and HTTP status 200 (OK)
+     */
+    @Operation(
+            summary = "Get Employees By Ids",
+            description = "Retrieve up to 10000 employees by id with one database round trip per 1000 ids. Employees keep the requested order, unknown ids are listed in missingIds; a repeated id is answered every time it is requested.",
+            tags = { "employee", "get"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Employees retrieved successfully", content = {@Content(schema = @Schema(implementation = EmployeeBatchDto.class), mediaType = "application/json")}),
+            @ApiResponse(responseCode = "304", description = "No employee changed since the ETag in If-None-Match", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "400", description = "Too many or invalid ids", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
+    })
+    //Build Get Employees By Ids REST API
+    @GetMapping("/batch")
+    public ResponseEntity<EmployeeBatchDto> getEmployeesByIds(@RequestParam List<Long> ids, WebRequest webRequest){
+        return ifCollectionModified(webRequest, () -> employeeService.getEmployeesByIds(ids));
+    }
+
+    /**
+     * Retrieves several employees by their IDs, for id lists too long for a query string.
+     *
+     * @param employeeIds the IDs of the employees
+     * @return ResponseEntity containing the EmployeeBatchDto and HTTP status 200 (OK)
+     */
+    @Operation(
+            summary = "Get Employees By Ids (POST)",
+            description = "Same as GET /batch with the ids as a JSON array in the request body.",
+            tags = { "employee", "get"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Employees retrieved successfully", content = {@Content(schema = @Schema(implementation = EmployeeBatchDto.class), mediaType = "application/json")}),
+            @ApiResponse(responseCode = "400", description = "Too many or invalid ids", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
+    })
+    //Build Post Employees By Ids REST API
+    @PostMapping("/batch")
+    public ResponseEntity<EmployeeBatchDto> postEmployeesByIds(@RequestBody List<Long> employeeIds){
+        return ResponseEntity.ok(employeeService.getEmployeesByIds(employeeIds));
     }
 
     /**
@@ -94,33 +251,170 @@ public class EmployeeController {
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Employee information retrieved successfully", content = {@Content(array = @ArraySchema(schema = @Schema(implementation = EmployeeDto.class)), mediaType = "application/json")}),
+            @ApiResponse(responseCode = "304", description = "No employee changed since the ETag in If-None-Match", content = {@Content(schema = @Schema())}),
             @ApiResponse(responseCode = "404", description = "No employees found", content = {@Content(schema = @Schema())}),
             @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
     })
     //Build Get All Employee REST API
     @GetMapping
-    public ResponseEntity<List<EmployeeDto>>getAllEmployees(){
-        List<EmployeeDto> employees = employeeService.getAllEmployees();
-        return ResponseEntity.ok(employees);
+    public ResponseEntity<List<EmployeeDto>>getAllEmployees(WebRequest webRequest){
+        return ifCollectionModified(webRequest, employeeService::getAllEmployees);
     }
 
+    /**
+     * Streams every employee as newline-delimited JSON.
+     *
+     * @return ResponseEntity whose body writes one EmployeeDto per line while the database cursor is read
+     */
+    @Operation(
+            summary = "Export All Employees",
+            description = "Stream every employee as newline-delimited JSON (one employee per line) without loading the whole table in memory.",
+            tags = { "employee", "get"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Employee export streamed successfully", content = {@Content(schema = @Schema(implementation = EmployeeDto.class), mediaType = MediaType.APPLICATION_NDJSON_VALUE)}),
+            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
+    })
+    //Build Export Employee REST API
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllEmployees(){
+        // the body is written on the async executor, where the read-your-writes context is no longer bound
+        boolean pinnedToPrimary = ReadYourWritesContext.isPinnedToPrimary();
+        StreamingResponseBody body = outputStream -> {
+            SequenceWriter writer = ndjsonWriter.writeValues(outputStream);
+            employeeService.exportAllEmployees(pinnedToPrimary, employee -> {
+                try {
+                    writer.write(employee);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 
+    /**
+     * Retrieves one page of employees ordered by id.
+     *
+     * @param offset zero-based page number
+     * @param pageSize number of employees per page
+     * @param withTotal whether the total number of employees should be included, skipping it saves a count
+     * @param estimateTotal whether an estimate from the table statistics is good enough as total
+     * @return ResponseEntity containing the EmployeePageDto and HTTP status 200 (OK)
+     */
+    @Operation(
+            summary = "Get Employees Page",
+            description = "Retrieve one page of employees ordered by id. The total is exact by default, estimated with estimateTotal=true and left out with withTotal=false.",
+            tags = { "employee", "get"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Employee page retrieved successfully", content = {@Content(schema = @Schema(implementation = EmployeePageDto.class), mediaType = "application/json")}),
+            @ApiResponse(responseCode = "304", description = "No employee changed since the ETag in If-None-Match", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "400", description = "Invalid page or page size", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
+    })
+    //Build Get Employees Page REST API
     @GetMapping("/pagination/{offset}/{pageSize}")
-    public ResponseEntity<Page<EmployeeDto>>getAllEmployeesWithPagination(@PathVariable int offset, @PathVariable int pageSize){
-        Page<EmployeeDto> employees = employeeService.getAllEmployeesWithPagination(offset, pageSize);
-        return ResponseEntity.ok(employees);
+    public ResponseEntity<EmployeePageDto> getAllEmployeesWithPagination(@PathVariable int offset, @PathVariable int pageSize,
+                                                                         @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                         @RequestParam(defaultValue = "false") boolean estimateTotal,
+                                                                         WebRequest webRequest){
+        EmployeePageDto.Total total = !withTotal ? EmployeePageDto.Total.NONE
+                : estimateTotal ? EmployeePageDto.Total.ESTIMATED : EmployeePageDto.Total.EXACT;
+        return ifCollectionModified(webRequest, () -> employeeService.getAllEmployeesWithPagination(offset, pageSize, total));
     }
 
+    /**
+     * Retrieves one window of employees using keyset (seek) pagination.
+     *
+     * @param sort field to sort by, either id or email
+     * @param direction sort direction
+     * @param size maximum number of employees to return
+     * @param token continuation token returned with the previous window, omitted for the first window
+     * @return ResponseEntity containing the EmployeeWindowDto and HTTP status 200 (OK)
+     */
+    @Operation(
+            summary = "Scroll Employees",
+            description = "Retrieve employees window by window. Each response carries an opaque nextToken that is sent back to fetch the following window; latency does not grow with depth.",
+            tags = { "employee", "get"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Employee window retrieved successfully", content = {@Content(schema = @Schema(implementation = EmployeeWindowDto.class), mediaType = "application/json")}),
+            @ApiResponse(responseCode = "304", description = "No employee changed since the ETag in If-None-Match", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "400", description = "Invalid sort field, size or token", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
+    })
+    //Build Scroll Employee REST API
+    @GetMapping("/scroll")
+    public ResponseEntity<EmployeeWindowDto> getAllEmployeesWithKeyset(@RequestParam(defaultValue = "id") String sort,
+                                                                       @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                                       @RequestParam(defaultValue = "20") int size,
+                                                                       @RequestParam(required = false) String token,
+                                                                       WebRequest webRequest){
+        return ifCollectionModified(webRequest, () -> employeeService.getAllEmployeesWithKeyset(sort, direction, size, token));
+    }
+
+    /**
+     * Retrieves one page of employees in the requested order.
+     *
+     * @param field comma separated sort keys, e.g. lastName,firstName
+     * @param direction direction applied to every key
+     * @param page page number to return
+     * @param size number of employees per page
+     * @return ResponseEntity containing a slice of EmployeeDto and HTTP status 200 (OK)
+     */
+    @Operation(
+            summary = "Get Sorted Employees",
+            description = "Retrieve one page of employees sorted by id, firstName, lastName, email, lastName,firstName or firstName,lastName. id is always used as a tiebreaker.",
+            tags = { "employee", "get"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Employee information retrieved successfully", content = {@Content(mediaType = "application/json")}),
+            @ApiResponse(responseCode = "304", description = "No employee changed since the ETag in If-None-Match", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort order or paging", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
+    })
     @GetMapping("/sort/{field}")
-    public ResponseEntity<List<EmployeeDto>>getAllEmployeesWithSorting(@PathVariable String field){
-        List<EmployeeDto> employees = employeeService.getAllEmployeesWithSorting(field);
-        return ResponseEntity.ok(employees);
+    public ResponseEntity<Slice<EmployeeDto>>getAllEmployeesWithSorting(@PathVariable String field,
+                                                                        @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                                        @RequestParam(defaultValue = "0") int page,
+                                                                        @RequestParam(defaultValue = "20") int size,
+                                                                        WebRequest webRequest){
+        return ifCollectionModified(webRequest, () -> employeeService.getAllEmployeesWithSorting(field, direction, page, size));
     }
 
     @GetMapping("/filter")
-    public ResponseEntity<List<EmployeeDto>> getAllEmployeesWithFilter(@RequestParam String email){
-        List<EmployeeDto> employeeDto = this.employeeService.getAllEmployeesWithFilter(email);
-        return ResponseEntity.ok(employeeDto);
+    public ResponseEntity<List<EmployeeDto>> getAllEmployeesWithFilter(@RequestParam String email, WebRequest webRequest){
+        return ifCollectionModified(webRequest, () -> this.employeeService.getAllEmployeesWithFilter(email));
+    }
+
+    /**
+     * Searches employees by first name, last name and email.
+     *
+     * @param criteria the search criteria, blank criteria are ignored
+     * @param page page number to return
+     * @param size number of employees per page
+     * @return ResponseEntity containing a slice of EmployeeDto and HTTP status 200 (OK)
+     */
+    @Operation(
+            summary = "Search Employees",
+            description = "Case-insensitive search combining first name, last name and email. match=PREFIX (default) finds values starting with the criteria, match=CONTAINS finds values containing them (at least 3 characters).",
+            tags = { "employee", "get"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matching employees retrieved successfully", content = {@Content(mediaType = "application/json")}),
+            @ApiResponse(responseCode = "304", description = "No employee changed since the ETag in If-None-Match", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "400", description = "Invalid criteria or paging", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
+    })
+    //Build Search Employee REST API
+    @GetMapping("/search")
+    public ResponseEntity<Slice<EmployeeDto>> searchEmployees(@ParameterObject EmployeeSearchCriteria criteria,
+                                                              @RequestParam(defaultValue = "0") int page,
+                                                              @RequestParam(defaultValue = "20") int size,
+                                                              WebRequest webRequest){
+        return ifCollectionModified(webRequest, () -> employeeService.searchEmployees(criteria, page, size));
     }
 
     /**
@@ -128,6 +422,7 @@ public class EmployeeController {
      *
      * @param employeeId the unique ID of the employee to update
      * @param updatedEmployee the employee data transfer object containing the updated information
+     * @param ifMatch optional ETag the employee must still have, it takes precedence over the version in the body
      * @return ResponseEntity containing the updated EmployeeDto and HTTP status 200 (OK)
      */
     @Operation(
@@ -138,21 +433,87 @@ public class EmployeeController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Employee information updated successfully", content = {@Content(schema = @Schema(implementation = EmployeeDto.class), mediaType = "application/json")}),
             @ApiResponse(responseCode = "404", description = "Employee not found", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "409", description = "Employee was modified concurrently", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "412", description = "Employee no longer matches the ETag in If-Match", content = {@Content(schema = @Schema())}),
             @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
     })
     //Build Update Employee REST API
     @PutMapping("{id}")
     public ResponseEntity<EmployeeDto> updateEmployee(@PathVariable("id") Long employeeId,
-                                                      @RequestBody EmployeeDto updatedEmployee){
-        EmployeeDto employeeDto = employeeService.updateEmployee(employeeId, updatedEmployee);
-        return ResponseEntity.ok(employeeDto);
+                                                      @RequestBody EmployeeDto updatedEmployee,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      WebRequest webRequest){
+        EmployeeDto employeeDto = ifMatching(ifMatch, updatedEmployee,
+                () -> employeeService.updateEmployee(employeeId, updatedEmployee));
+        return encoded(ResponseEntity.ok(), employeeDto.getVersion(), encoding(webRequest)).body(employeeDto);
+    }
+
+
+    /**
+     * Partially updates an employee's information by their unique identifier (ID).
+     *
+     * @param employeeId the unique ID of the employee to update
+     * @param employeePatch the employee data transfer object containing only the fields to change
+     * @param ifMatch optional ETag the employee must still have, it takes precedence over the version in the body
+     * @return ResponseEntity containing the updated EmployeeDto and HTTP status 200 (OK)
+     */
+    @Operation(
+            summary = "Patch Employee by ID",
+            description = "Updates only the fields present in the request body. When a version is sent, the update is rejected with 409 if the employee changed in the meantime.",
+            tags = { "employee", "update"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Employee information updated successfully", content = {@Content(schema = @Schema(implementation = EmployeeDto.class), mediaType = "application/json")}),
+            @ApiResponse(responseCode = "404", description = "Employee not found", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "409", description = "Employee was modified concurrently", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "412", description = "Employee no longer matches the ETag in If-Match", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
+    })
+    //Build Patch Employee REST API
+    @PatchMapping("{id}")
+    public ResponseEntity<EmployeeDto> patchEmployee(@PathVariable("id") Long employeeId,
+                                                     @RequestBody EmployeeDto employeePatch,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                     WebRequest webRequest){
+        EmployeeDto employeeDto = ifMatching(ifMatch, employeePatch,
+                () -> employeeService.patchEmployee(employeeId, employeePatch));
+        return encoded(ResponseEntity.ok(), employeeDto.getVersion(), encoding(webRequest)).body(employeeDto);
+    }
+
+    /**
+     * Updates employee records in bulk from a JSON array.
+     *
+     * @param employeeDtos the employees to update, identified by their id
+     * @return ResponseEntity containing one BulkItemResultDto per employee and HTTP status 200 (OK)
+     */
+    @Operation(
+            summary = "Update Employees in Bulk",
+            description = "Update many employees at once, either from a JSON array or from a newline-delimited JSON stream. Each employee is identified by its id and gets its own result.",
+            tags = { "employee", "update"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Bulk request processed, see the per item status", content = {@Content(array = @ArraySchema(schema = @Schema(implementation = BulkItemResultDto.class)), mediaType = "application/json")}),
+            @ApiResponse(responseCode = "400", description = "Invalid input", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
+    })
+    //Build Bulk Update Employee REST API
+    @PutMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkItemResultDto>> updateEmployees(@RequestBody List<EmployeeDto> employeeDtos){
+        return ResponseEntity.ok(employeeService.updateEmployees(employeeDtos));
     }
 
+    @PutMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BulkItemResultDto>> updateEmployeesFromStream(InputStream inputStream) throws IOException {
+        try (MappingIterator<EmployeeDto> employeeDtos = ndjsonReader.readValues(inputStream)) {
+            return ResponseEntity.ok(employeeService.updateEmployees(() -> employeeDtos));
+        }
+    }
 
     /**
      * Deletes an employee's information by their unique identifier (ID).
      *
      * @param employeeId the unique ID of the employee to delete
+     * @param ifMatch optional ETag the employee must still have
      * @return ResponseEntity with a confirmation message and HTTP status 200 (OK)
      */
     @Operation(
@@ -163,16 +524,125 @@ public class EmployeeController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Employee deleted successfully", content = {@Content(mediaType = "application/json")}),
             @ApiResponse(responseCode = "404", description = "Employee not found", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "412", description = "Employee no longer matches the ETag in If-Match", content = {@Content(schema = @Schema())}),
             @ApiResponse(responseCode = "500", description = " Server error", content = {@Content(schema = @Schema())})
     })
     //Build Delete Employee REST API
     @DeleteMapping("{id}")
-    public ResponseEntity<String> deleteEmployee(@PathVariable("id") Long employeeId){
-        employeeService.deleteEmployee(employeeId);
+    public ResponseEntity<String> deleteEmployee(@PathVariable("id") Long employeeId,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        Long expectedVersion = ETagMapper.mapToVersion(ifMatch);
+        ifMatching(ifMatch, () -> {
+            employeeService.deleteEmployee(employeeId, expectedVersion);
+            return null;
+        });
         return ResponseEntity.ok("Employee deleted successfully.");
 
     }
 
+    /**
+     * Deletes employee records in bulk.
+     *
+     * @param employeeIds the ids of the employees to delete
+     * @return ResponseEntity containing one BulkItemResultDto per id and HTTP status 200 (OK)
+     */
+    @Operation(
+            summary = "Delete Employees in Bulk",
+            description = "Delete many employees at once by their ids. Each id gets its own result, unknown ids are reported as NOT_FOUND.",
+            tags = { "employee", "delete"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Bulk request processed, see the per item status", content = {@Content(array = @ArraySchema(schema = @Schema(implementation = BulkItemResultDto.class)), mediaType = "application/json")}),
+            @ApiResponse(responseCode = "500", description = " Server error", content = {@Content(schema = @Schema())})
+    })
+    //Build Bulk Delete Employee REST API
+    @DeleteMapping("/bulk")
+    public ResponseEntity<List<BulkItemResultDto>> deleteEmployees(@RequestBody List<Long> employeeIds){
+        return ResponseEntity.ok(employeeService.deleteEmployees(employeeIds));
+    }
+
+    /**
+     * Answers a collection request with 304 when no employee changed since the client's ETag.
+     *
+     * <p>The change counter and the collection are read in one read-only transaction, so both come from the same
+     * database even when reads are routed to replicas. The counter is read first: a write committing in between
+     * can only cause a needless full response, never a 304 for stale content.</p>
+     */
+    private <T> ResponseEntity<T> ifCollectionModified(WebRequest webRequest, Supplier<T> collection) {
+        MediaType encoding = encoding(webRequest);
+        return employeeService.readWithChangeCount(changeCount -> {
+            if (webRequest.checkNotModified(ETagMapper.mapToETag(changeCount, encoding))) {
+                // status and ETag are already set, no query and no body
+                return null;
+            }
+            return encoded(ResponseEntity.ok(), changeCount, encoding).body(collection.get());
+        });
+    }
+
+    private static ResponseEntity<EmployeeDto> created(EmployeeDto employee, MediaType encoding) {
+        return encoded(ResponseEntity.status(HttpStatus.CREATED), employee.getVersion(), encoding).body(employee);
+    }
+
+    /**
+     * Labels a response with the strong ETag of the encoding it is written in. The content type is set along, so
+     * the message converters write exactly the encoding the ETag names.
+     */
+    private static ResponseEntity.BodyBuilder encoded(ResponseEntity.BodyBuilder response, long version, MediaType encoding) {
+        response.varyBy(HttpHeaders.ACCEPT).eTag(ETagMapper.mapToETag(version, encoding));
+        return encoding == null ? response : response.contentType(encoding);
+    }
 
+    /**
+     * Picks the encoding of an employee body from {@code Accept}, JSON when the client accepts anything.
+     *
+     * @return the encoding, {@code null} when the client accepts none of them and the converters answer 406
+     */
+    private static MediaType encoding(WebRequest webRequest) {
+        String[] accept = webRequest.getHeaderValues(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return ENCODINGS.get(0);
+        }
+        List<MediaType> requested;
+        try {
+            requested = new ArrayList<>(MediaType.parseMediaTypes(Arrays.asList(accept)));
+        } catch (InvalidMediaTypeException ex) {
+            return null;
+        }
+        // by quality, then the most specific first, as the message converters negotiate
+        MimeTypeUtils.sortBySpecificity(requested);
+        for (MediaType mediaType : requested) {
+            if (mediaType.getQualityValue() == 0) {
+                break;
+            }
+            for (MediaType encoding : ENCODINGS) {
+                if (mediaType.isCompatibleWith(encoding)) {
+                    return encoding;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Applies the version from {@code If-Match} to the write and reports a mismatch as 412.
+     */
+    private static EmployeeDto ifMatching(String ifMatch, EmployeeDto employeeDto, Supplier<EmployeeDto> write) {
+        Long expectedVersion = ETagMapper.mapToVersion(ifMatch);
+        if (expectedVersion != null) {
+            employeeDto.setVersion(expectedVersion);
+        }
+        return ifMatching(ifMatch, write);
+    }
+
+    private static <T> T ifMatching(String ifMatch, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (ResourceConflictException e) {
+            if (ifMatch == null) {
+                throw e;
+            }
+            throw new PreconditionFailedException(e.getMessage());
+        }
+    }
 
 }
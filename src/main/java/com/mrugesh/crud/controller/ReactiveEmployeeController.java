@@ -0,0 +1,210 @@
+package com.mrugesh.crud.controller;
+
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.exception.PreconditionFailedException;
+import com.mrugesh.crud.exception.ResourceConflictException;
+import com.mrugesh.crud.mapper.ETagMapper;
+import com.mrugesh.crud.service.ReactiveEmployeeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive variant of the {@link EmployeeController}, served by WebFlux with the {@code reactive} profile.
+ *
+ * <p>Collections are returned as a {@link Flux} and written while the rows arrive. With
+ * {@code Accept: application/x-ndjson} every employee is flushed on its own, and the client's read rate travels
+ * back as demand to the database cursor: a slow consumer pauses the query rather than filling the heap.</p>
+ *
+ * <p>Single employees carry the same ETags as in the blocking API, and writes honour {@code If-Match}.</p>
+ */
+@Tag(name= "Employee", description = "Employee Management APIs")
+@RestController
+@RequestMapping("/api/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeController {
+
+    public ReactiveEmployeeService reactiveEmployeeService;
+
+    /**
+     * Constructs a ReactiveEmployeeController with the specified ReactiveEmployeeService.
+     *
+     * @param reactiveEmployeeService the service used to manage employees
+     */
+    public ReactiveEmployeeController(ReactiveEmployeeService reactiveEmployeeService) {
+        this.reactiveEmployeeService = reactiveEmployeeService;
+    }
+
+    /**
+     * Creates a new employee record with the provided first name, last name, and email ID.
+     *
+     * @param employeeDto the employee data transfer object containing the new employee's information
+     * @return ResponseEntity containing the created EmployeeDto and HTTP status 201 (Created)
+     */
+    @Operation(
+            summary = "Create Employee",
+            description = "Create a new employee record with the provided first name, last name, and email ID.",
+            tags = { "employee", "post" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Employee created successfully", content = {@Content(schema = @Schema(implementation = EmployeeDto.class), mediaType = "application/json")}),
+            @ApiResponse(responseCode = "400", description = "Invalid input, e.g. a missing or too long value", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "409", description = "Employee conflicts with another one, e.g. a duplicate email ID", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
+    })
+    //Build Add Employee REST API
+    @PostMapping
+    public Mono<ResponseEntity<EmployeeDto>> createEmployee(@RequestBody EmployeeDto employeeDto){
+        return reactiveEmployeeService.createEmployee(employeeDto)
+                .map(employee -> ResponseEntity.status(HttpStatus.CREATED).eTag(ETagMapper.mapToETag(employee.getVersion())).body(employee));
+    }
+
+    /**
+     * Retrieves an employee's information by their unique identifier (ID).
+     *
+     * @param employeeId the unique ID of the employee to retrieve
+     * @return ResponseEntity containing the EmployeeDto and HTTP status 200 (OK)
+     */
+    @Operation(
+            summary = "Get Employee by ID",
+            description = "Retrieve an employee's information, including first name, last name, and email ID, by their unique identifier (ID).",
+            tags = { "employee", "get"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Employee information retrieved Successfully", content = {@Content(schema = @Schema(implementation = EmployeeDto.class), mediaType = "application/json")}),
+            @ApiResponse(responseCode = "304", description = "Employee not modified since the ETag in If-None-Match", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "404", description = "Employee not found", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "500", description = "Server Error", content = {@Content(schema = @Schema())})
+    })
+    //Build Get Employee REST API
+    @GetMapping("{id}")
+    public Mono<ResponseEntity<EmployeeDto>> getEmployeeById(@PathVariable("id") Long employeeId){
+        // a matching If-None-Match turns this into a 304 before the body is serialized
+        return reactiveEmployeeService.getEmployeeById(employeeId)
+                .map(employee -> ResponseEntity.ok().eTag(ETagMapper.mapToETag(employee.getVersion())).body(employee));
+    }
+
+    /**
+     * Streams all employees.
+     *
+     * @return all employees ordered by id, as a JSON array or one JSON document per line
+     */
+    @Operation(
+            summary = "Get All Employees",
+            description = "Stream all employees ordered by id, as a JSON array or, with Accept: application/x-ndjson, as newline-delimited JSON. Rows are read from the database as fast as the client consumes them.",
+            tags = { "employee", "get"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Employees streamed successfully", content = {
+                    @Content(array = @ArraySchema(schema = @Schema(implementation = EmployeeDto.class)), mediaType = "application/json"),
+                    @Content(schema = @Schema(implementation = EmployeeDto.class), mediaType = "application/x-ndjson")}),
+            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
+    })
+    //Build Get All Employee REST API
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<EmployeeDto> getAllEmployees(){
+        return reactiveEmployeeService.getAllEmployees();
+    }
+
+    /**
+     * Streams the employees with the given email ID.
+     *
+     * @param email the email ID to match, all employees are streamed when blank
+     * @return the matching employees ordered by id, as a JSON array or one JSON document per line
+     */
+    @Operation(
+            summary = "Get Employees With Filter",
+            description = "Stream the employees with the given email ID, all employees when it is blank, as a JSON array or newline-delimited JSON.",
+            tags = { "employee", "get"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Employees streamed successfully", content = {
+                    @Content(array = @ArraySchema(schema = @Schema(implementation = EmployeeDto.class)), mediaType = "application/json"),
+                    @Content(schema = @Schema(implementation = EmployeeDto.class), mediaType = "application/x-ndjson")}),
+            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
+    })
+    //Build Filter Employee REST API
+    @GetMapping(value = "/filter", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<EmployeeDto> getAllEmployeesWithFilter(@RequestParam String email){
+        return reactiveEmployeeService.getAllEmployeesWithFilter(email);
+    }
+
+    /**
+     * Updates an employee's information by their unique identifier (ID).
+     *
+     * @param employeeId the unique ID of the employee to update
+     * @param updatedEmployee the employee data transfer object containing the updated information
+     * @param ifMatch optional ETag the employee must still have, it takes precedence over the version in the body
+     * @return ResponseEntity containing the updated EmployeeDto and HTTP status 200 (OK)
+     */
+    @Operation(
+            summary = "Update Employee by ID",
+            description = "Updates an employee's information, including first name, last name, and email ID, by their unique identifier (ID).",
+            tags = { "employee", "update"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Employee information updated successfully", content = {@Content(schema = @Schema(implementation = EmployeeDto.class), mediaType = "application/json")}),
+            @ApiResponse(responseCode = "404", description = "Employee not found", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "409", description = "Employee was modified concurrently", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "412", description = "Employee no longer matches the ETag in If-Match", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "500", description = "Server error", content = {@Content(schema = @Schema())})
+    })
+    //Build Update Employee REST API
+    @PutMapping("{id}")
+    public Mono<ResponseEntity<EmployeeDto>> updateEmployee(@PathVariable("id") Long employeeId,
+                                                            @RequestBody EmployeeDto updatedEmployee,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        Long expectedVersion = ETagMapper.mapToVersion(ifMatch);
+        if (expectedVersion != null) {
+            updatedEmployee.setVersion(expectedVersion);
+        }
+        return ifMatching(ifMatch, reactiveEmployeeService.updateEmployee(employeeId, updatedEmployee))
+                .map(employee -> ResponseEntity.ok().eTag(ETagMapper.mapToETag(employee.getVersion())).body(employee));
+    }
+
+    /**
+     * Deletes an employee's information by their unique identifier (ID).
+     *
+     * @param employeeId the unique ID of the employee to delete
+     * @param ifMatch optional ETag the employee must still have
+     * @return ResponseEntity with a confirmation message and HTTP status 200 (OK)
+     */
+    @Operation(
+            summary = "Delete Employee by ID",
+            description = "Deletes an employee's information, including first name, last name, and email ID, by their unique identifier (ID).",
+            tags = { "employee", "delete"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Employee deleted successfully", content = {@Content(mediaType = "application/json")}),
+            @ApiResponse(responseCode = "404", description = "Employee not found", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "412", description = "Employee no longer matches the ETag in If-Match", content = {@Content(schema = @Schema())}),
+            @ApiResponse(responseCode = "500", description = " Server error", content = {@Content(schema = @Schema())})
+    })
+    //Build Delete Employee REST API
+    @DeleteMapping("{id}")
+    public Mono<ResponseEntity<String>> deleteEmployee(@PathVariable("id") Long employeeId,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return ifMatching(ifMatch, reactiveEmployeeService.deleteEmployee(employeeId, ETagMapper.mapToVersion(ifMatch)))
+                .thenReturn(ResponseEntity.ok("Employee deleted successfully."));
+    }
+
+    private static <T> Mono<T> ifMatching(String ifMatch, Mono<T> write) {
+        if (ifMatch == null) {
+            return write;
+        }
+        return write.onErrorMap(ResourceConflictException.class, e -> new PreconditionFailedException(e.getMessage()));
+    }
+
+}
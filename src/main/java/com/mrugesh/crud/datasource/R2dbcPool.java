@@ -0,0 +1,47 @@
+package com.mrugesh.crud.datasource;
+
+import com.mrugesh.crud.config.R2dbcConnectionProperties;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.util.StringUtils;
+
+/**
+ * The R2DBC connection pool of the reactive employee API.
+ *
+ * <p>The pool is kept behind this holder rather than registered as a {@link ConnectionFactory} bean: such a bean
+ * would make Spring Boot initialize the schema and manage transactions through R2DBC instead of JDBC. Closing the
+ * holder disposes the pool, which its own {@code close()} only does once subscribed to.</p>
+ */
+public class R2dbcPool implements AutoCloseable {
+
+    private final ConnectionPool pool;
+
+    public R2dbcPool(R2dbcConnectionProperties properties) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (StringUtils.hasText(properties.getUsername())) {
+            options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+        }
+        if (StringUtils.hasText(properties.getPassword())) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+        }
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("crud-r2dbc")
+                // a fixed size pool, like the JDBC one
+                .initialSize(properties.getMaxSize())
+                .maxSize(properties.getMaxSize())
+                .maxAcquireTime(properties.getMaxAcquireTime())
+                .build());
+    }
+
+    public ConnectionFactory getConnectionFactory() {
+        return pool;
+    }
+
+    @Override
+    public void close() {
+        pool.dispose();
+    }
+}
@@ -0,0 +1,83 @@
+package com.mrugesh.crud.datasource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Read-your-writes state of the current request.
+ *
+ * <p>After a write commits, reads of the same client are pinned to the primary for a short while, so they
+ * cannot hit a replica that has not replayed the write yet. The deadline is handed to a callback, which lets the
+ * web layer carry it over to the following requests of the same session in a cookie.</p>
+ *
+ * <p>The state is bound to the current thread between {@link #open} and {@link #close}. Outside of that window
+ * writes are not tracked and reads are never pinned. Work finished on another thread on behalf of the request
+ * records its write through the context captured with {@link #current}.</p>
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<ReadYourWritesContext> CURRENT = new ThreadLocal<>();
+
+    private volatile Instant primaryUntil;
+
+    private final Consumer<Instant> onWrite;
+
+    private ReadYourWritesContext(Instant primaryUntil, Consumer<Instant> onWrite) {
+        this.primaryUntil = primaryUntil;
+        this.onWrite = onWrite;
+    }
+
+    /**
+     * Binds a context to the current thread.
+     *
+     * @param primaryUntil reads stay on the primary until then, may be {@code null}
+     * @param onWrite callback receiving the new deadline after every write
+     */
+    public static void open(Instant primaryUntil, Consumer<Instant> onWrite) {
+        CURRENT.set(new ReadYourWritesContext(primaryUntil, onWrite));
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return the context bound to the current thread, {@code null} outside of a request
+     */
+    public static ReadYourWritesContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return whether reads of the current thread must go to the primary
+     */
+    public static boolean isPinnedToPrimary() {
+        ReadYourWritesContext context = CURRENT.get();
+        return context != null && context.primaryUntil != null && Instant.now().isBefore(context.primaryUntil);
+    }
+
+    /**
+     * Pins the reads of the current context to the primary after a committed write.
+     *
+     * @param stickFor how long reads stay on the primary, at least the expected replication lag
+     */
+    public static void recordWrite(Duration stickFor) {
+        ReadYourWritesContext context = CURRENT.get();
+        if (context != null) {
+            context.writeCommitted(stickFor);
+        }
+    }
+
+    /**
+     * Pins the reads of this context to the primary after a write committed on its behalf, possibly on another
+     * thread.
+     *
+     * @param stickFor how long reads stay on the primary, at least the expected replication lag
+     */
+    public void writeCommitted(Duration stickFor) {
+        Instant until = Instant.now().plus(stickFor);
+        primaryUntil = until;
+        onWrite.accept(until);
+    }
+}
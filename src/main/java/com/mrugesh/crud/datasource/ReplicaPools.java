@@ -0,0 +1,163 @@
+package com.mrugesh.crud.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The connection pools behind a {@link ReplicaRoutingDataSource}: one for the primary and one per read replica.
+ *
+ * <p>Replicas are probed every health check interval and taken out of rotation as soon as a probe or a
+ * connection attempt fails. They rejoin once a probe succeeds again, and reads fall back to the primary
+ * while no replica is healthy.</p>
+ */
+@Slf4j
+public class ReplicaPools implements SmartLifecycle, AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+
+    private final Map<String, DataSource> replicas;
+
+    private final List<String> replicaNames;
+
+    private final Map<String, Boolean> healthy = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final Duration healthCheckInterval;
+
+    private volatile ScheduledExecutorService healthChecker;
+
+    public ReplicaPools(DataSource primary, Map<String, ? extends DataSource> replicas, Duration healthCheckInterval) {
+        if (replicas.containsKey(PRIMARY)) {
+            throw new IllegalArgumentException("A replica must not be named " + PRIMARY);
+        }
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.replicaNames = new ArrayList<>(replicas.keySet());
+        this.healthCheckInterval = healthCheckInterval;
+        this.replicaNames.forEach(name -> healthy.put(name, true));
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Picks the next healthy replica, round robin.
+     *
+     * @return the name of the replica, empty when none is healthy
+     */
+    public Optional<String> nextHealthyReplica() {
+        int size = replicaNames.size();
+        if (size == 0) {
+            return Optional.empty();
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            String name = replicaNames.get((start + i) % size);
+            if (healthy.get(name)) {
+                return Optional.of(name);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public boolean isHealthy(String replica) {
+        return healthy.getOrDefault(replica, false);
+    }
+
+    /**
+     * Takes a replica out of rotation until the next successful health check.
+     */
+    public void markDown(String replica, Exception cause) {
+        if (Boolean.TRUE.equals(healthy.put(replica, false))) {
+            log.warn("Replica {} is unavailable, reads fall back to the other pools: {}", replica, cause.getMessage());
+        }
+    }
+
+    /**
+     * Probes every replica once and updates its health.
+     */
+    public void checkHealth() {
+        replicas.forEach((name, dataSource) -> {
+            boolean up;
+            try (Connection connection = dataSource.getConnection()) {
+                up = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException ex) {
+                markDown(name, ex);
+                return;
+            }
+            Boolean previous = healthy.put(name, up);
+            if (up && Boolean.FALSE.equals(previous)) {
+                log.info("Replica {} is healthy again", name);
+            } else if (!up && Boolean.TRUE.equals(previous)) {
+                log.warn("Replica {} failed validation, reads fall back to the other pools", name);
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        if (replicas.isEmpty() || healthChecker != null) {
+            return;
+        }
+        healthChecker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-health-check").daemon().factory());
+        long interval = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService checker = healthChecker;
+        healthChecker = null;
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return healthChecker != null;
+    }
+
+    @Override
+    public void close() {
+        stop();
+        closePool(PRIMARY, primary);
+        replicas.forEach(this::closePool);
+    }
+
+    private void closePool(String name, DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ex) {
+                log.warn("Could not close the {} pool", name, ex);
+            }
+        }
+    }
+}
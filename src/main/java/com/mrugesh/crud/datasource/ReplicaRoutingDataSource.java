@@ -0,0 +1,86 @@
+package com.mrugesh.crud.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to a healthy read replica and everything else to the primary.
+ *
+ * <p>The route is taken when the physical connection is fetched, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: only then is the read-only flag of
+ * the transaction known at that point.</p>
+ *
+ * <p>A committed write pins the reads of the current {@link ReadYourWritesContext} to the primary, and a replica
+ * refusing a connection is marked down in {@link ReplicaPools} and the primary serves the read instead.</p>
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaPools pools;
+
+    private final Duration stickFor;
+
+    public ReplicaRoutingDataSource(ReplicaPools pools, Duration stickFor) {
+        this.pools = pools;
+        this.stickFor = stickFor;
+        Map<Object, Object> targets = new HashMap<>(pools.getReplicas());
+        targets.put(ReplicaPools.PRIMARY, pools.getPrimary());
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(pools.getPrimary());
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        ReadYourWritesContext.recordWrite(stickFor);
+                    }
+                });
+            }
+            return ReplicaPools.PRIMARY;
+        }
+        if (ReadYourWritesContext.isPinnedToPrimary()) {
+            return ReplicaPools.PRIMARY;
+        }
+        return pools.nextHealthyReplica().orElse(ReplicaPools.PRIMARY);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(ConnectionFactory factory) throws SQLException {
+        String route = (String) determineCurrentLookupKey();
+        if (ReplicaPools.PRIMARY.equals(route)) {
+            return factory.connect(pools.getPrimary());
+        }
+        try {
+            return factory.connect(getResolvedDataSources().get(route));
+        } catch (SQLException ex) {
+            pools.markDown(route, ex);
+            return factory.connect(pools.getPrimary());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionFactory {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+}
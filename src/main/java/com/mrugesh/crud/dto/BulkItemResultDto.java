@@ -0,0 +1,113 @@
+package com.mrugesh.crud.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object describing the outcome of one item of a bulk request.
+ * Items are reported individually so one failing row does not hide the rows that were written.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResultDto {
+
+    /**
+     * Outcome of a single bulk item.
+     */
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DELETED,
+        NOT_FOUND,
+        FAILED
+    }
+
+    /**
+     * Why a failed item was not written.
+     */
+    public enum Failure {
+        /**
+         * The item conflicts with the current data, e.g. a duplicate email ID or a stale version.
+         */
+        CONFLICT,
+        /**
+         * The item is refused whatever the current data, e.g. a missing or too long value.
+         */
+        INVALID,
+        /**
+         * The database could not be reached or gave up, the item may be retried later.
+         */
+        UNAVAILABLE,
+        /**
+         * Any other failure.
+         */
+        ERROR
+    }
+
+    /**
+     * The zero based position of the item in the request.
+     */
+    private int index;
+    /**
+     * The unique identifier of the employee the item refers to, if known.
+     */
+    private Long id;
+    /**
+     * The outcome of the item.
+     */
+    private Status status;
+    /**
+     * The employee as written, for created and updated items.
+     */
+    private EmployeeDto employee;
+    /**
+     * Why the item failed, for failed items.
+     */
+    private Failure failure;
+    /**
+     * The reason the item failed, for failed items.
+     */
+    private String error;
+
+    /**
+     * Result of an item that was written.
+     *
+     * @param index position of the item in the request
+     * @param status outcome of the item
+     * @param employee the employee as written
+     * @return the item result
+     */
+    public static BulkItemResultDto written(int index, Status status, EmployeeDto employee) {
+        return new BulkItemResultDto(index, employee.getId(), status, employee, null, null);
+    }
+
+    /**
+     * Result of an item whose outcome is described by its status alone.
+     *
+     * @param index position of the item in the request
+     * @param id the unique identifier of the employee
+     * @param status outcome of the item
+     * @return the item result
+     */
+    public static BulkItemResultDto of(int index, Long id, Status status) {
+        return new BulkItemResultDto(index, id, status, null, null, null);
+    }
+
+    /**
+     * Result of an item that could not be written.
+     *
+     * @param index position of the item in the request
+     * @param id the unique identifier of the employee, if known
+     * @param failure why the item failed
+     * @param error the reason of the failure
+     * @return the item result
+     */
+    public static BulkItemResultDto failed(int index, Long id, Failure failure, String error) {
+        return new BulkItemResultDto(index, id, Status.FAILED, null, failure, error);
+    }
+}
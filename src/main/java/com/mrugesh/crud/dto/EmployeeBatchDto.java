@@ -0,0 +1,29 @@
+package com.mrugesh.crud.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for employees looked up by a list of ids.
+ * Employees keep the order of the requested ids, ids without an employee are reported instead of failing the lookup.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBatchDto {
+    /**
+     * The employees found, in the order of the requested ids, once per time their id was requested.
+     */
+    private List<EmployeeDto> employees;
+    /**
+     * The requested ids without an employee, in request order and as often as they were requested, so together
+     * with the employees there is one entry per requested id.
+     */
+    private List<Long> missingIds;
+}
@@ -0,0 +1,33 @@
+package com.mrugesh.crud.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a batch of the employee change feed.
+ * Changes are coalesced: an employee changed several times within the batch appears once, with its last change.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChangeBatchDto {
+    /**
+     * The changes, in feed order.
+     */
+    private List<EmployeeChangeDto> changes;
+    /**
+     * The sequence number to resume from, sent back as {@code after} with the next request.
+     */
+    private long nextSeq;
+    /**
+     * Set when changes following the requested position were already deleted from the feed. The batch has no
+     * changes then: the consumer reloads the employees and resumes from {@code nextSeq}.
+     */
+    private boolean resync;
+}
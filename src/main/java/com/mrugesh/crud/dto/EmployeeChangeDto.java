@@ -0,0 +1,36 @@
+package com.mrugesh.crud.dto;
+
+
+import com.mrugesh.crud.entity.EmployeeChange;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for one entry of the employee change feed.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChangeDto {
+    /**
+     * The position of the change in the feed.
+     */
+    private Long seq;
+    /**
+     * The kind of change.
+     */
+    private EmployeeChange.Type type;
+    /**
+     * The employee after the change, only id and version for deletes.
+     */
+    private EmployeeDto employee;
+    /**
+     * When the change was written.
+     */
+    private Instant changedAt;
+}
@@ -31,4 +31,8 @@ public class EmployeeDto {
      * The email id of the employee.
      */
     private String email;
+    /**
+     * The version of the employee, used for optimistic concurrency control.
+     */
+    private Long version;
 }
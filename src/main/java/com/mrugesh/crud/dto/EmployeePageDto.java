@@ -0,0 +1,67 @@
+package com.mrugesh.crud.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of an offset paginated employee listing.
+ * The total number of employees is optional, so a page can be served without counting the whole table.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePageDto {
+
+    /**
+     * How the total number of employees of a page was obtained.
+     */
+    public enum Total {
+        /**
+         * Counted, or known from a last page without counting.
+         */
+        EXACT,
+        /**
+         * Taken from the planner statistics of the table, may be off by the changes since the last analyze.
+         */
+        ESTIMATED,
+        /**
+         * Not requested, {@code totalElements} and {@code totalPages} are {@code null}.
+         */
+        NONE
+    }
+
+    /**
+     * The employees of this page, ordered by id.
+     */
+    private List<EmployeeDto> content;
+    /**
+     * The zero-based page number.
+     */
+    private int page;
+    /**
+     * The requested page size.
+     */
+    private int size;
+    /**
+     * Whether more employees follow this page.
+     */
+    private boolean hasNext;
+    /**
+     * The total number of employees, {@code null} when not requested.
+     */
+    private Long totalElements;
+    /**
+     * The total number of pages, {@code null} when not requested.
+     */
+    private Integer totalPages;
+    /**
+     * How the totals were obtained.
+     */
+    private Total total;
+}
@@ -0,0 +1,49 @@
+package com.mrugesh.crud.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Search criteria for employees.
+ * Every non-blank field adds a case-insensitive predicate, all predicates must match.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeSearchCriteria {
+
+    /**
+     * How a criterion is matched against the stored value.
+     */
+    public enum Match {
+        /**
+         * The value starts with the criterion, served by a btree {@code text_pattern_ops} index.
+         */
+        PREFIX,
+        /**
+         * The value contains the criterion, served by a {@code pg_trgm} GIN index.
+         */
+        CONTAINS
+    }
+
+    /**
+     * The first name to search for.
+     */
+    private String firstName;
+    /**
+     * The last name to search for.
+     */
+    private String lastName;
+    /**
+     * The email id to search for.
+     */
+    private String email;
+    /**
+     * How the criteria are matched, {@link Match#PREFIX} by default.
+     */
+    private Match match = Match.PREFIX;
+}
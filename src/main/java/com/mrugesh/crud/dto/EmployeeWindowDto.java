@@ -0,0 +1,32 @@
+package com.mrugesh.crud.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one window of a keyset (seek) paginated employee listing.
+ * Carries an opaque token instead of a page number so deep windows cost the same as the first one.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeWindowDto {
+    /**
+     * The employees of this window, in the requested order.
+     */
+    private List<EmployeeDto> content;
+    /**
+     * Opaque token to send back to fetch the next window, {@code null} on the last window.
+     */
+    private String nextToken;
+    /**
+     * Whether more employees follow this window.
+     */
+    private boolean hasNext;
+}
@@ -1,11 +1,18 @@
 package com.mrugesh.crud.entity;
 
+import com.mrugesh.crud.dto.EmployeeDto;
 import jakarta.persistence.*;
 import lombok.*;
 
 /**
  * Represents an employee entity in the system.
  * Maps to the 'employees' table in the database.
+ *
+ * <p>On Postgres the table is hash partitioned on {@code id} (see {@code V1__partitioned_employees.sql}), so
+ * statements that name an id touch one partition only.</p>
+ *
+ * <p>Batch lookups by id read their rows straight into {@link EmployeeDto}s through the {@code EmployeeDto}
+ * result mapping.</p>
  */
 @Getter
 @Setter
@@ -13,13 +20,27 @@ import lombok.*;
 @AllArgsConstructor
 @Entity
 @Table(name = "employees")
+@NamedNativeQuery(name = "Employee.findAllDtosByIdArray",
+        query = "SELECT id, first_name, last_name, email_id, version FROM employees WHERE id = ANY(CAST(:ids AS bigint[]))",
+        resultSetMapping = "EmployeeDto")
+@SqlResultSetMapping(name = "EmployeeDto", classes = @ConstructorResult(
+        targetClass = EmployeeDto.class,
+        columns = {
+                @ColumnResult(name = "id", type = Long.class),
+                @ColumnResult(name = "first_name", type = String.class),
+                @ColumnResult(name = "last_name", type = String.class),
+                @ColumnResult(name = "email_id", type = String.class),
+                @ColumnResult(name = "version", type = Long.class)
+        }))
 public class Employee {
 
     /**
      * The unique identifier for an employee.
+     * <p>Allocated from a pooled sequence, 50 ids per round trip, so inserts can be JDBC batched.</p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -36,7 +57,15 @@ public class Employee {
 
     /**
      * The email id of the employee.
+     * <p>Unique across all partitions through the primary key of {@link EmployeeEmail}.</p>
      */
-    @Column(name = "email_id", nullable = false, unique = true)
+    @Column(name = "email_id", nullable = false)
     private String email;
+
+    /**
+     * The version of the employee, incremented on every update for optimistic locking.
+     */
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0 not null")
+    private Long version;
 }
@@ -0,0 +1,92 @@
+package com.mrugesh.crud.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Represents one change of an employee in the outbox of the change feed.
+ * Maps to the 'employee_changes' table in the database.
+ *
+ * <p>Rows are appended by a trigger on {@code employees} inside the writing transaction (see
+ * {@code V3__employee_change_feed.sql} and {@code V4__change_feed_sequencer.sql}), the application only numbers
+ * and reads them.</p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Immutable
+@Table(name = "employee_changes")
+public class EmployeeChange {
+
+    /**
+     * Kind of change.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    /**
+     * The unique identifier of the change, drawn from a sequence by the trigger in the writing transaction.
+     */
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * The position of the change in the feed.
+     * <p>Assigned after commit by {@code EmployeeChangeSequencer}, so positions become visible in increasing order.
+     * Rows not numbered yet have none and are not read.</p>
+     */
+    @Column(name = "seq")
+    private Long seq;
+
+    /**
+     * The unique identifier of the changed employee.
+     */
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    /**
+     * The kind of change.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 16)
+    private Type type;
+
+    /**
+     * The first name after the change, {@code null} for deletes.
+     */
+    @Column(name = "first_name")
+    private String firstname;
+
+    /**
+     * The last name after the change, {@code null} for deletes.
+     */
+    @Column(name = "last_name")
+    private String lastname;
+
+    /**
+     * The email id after the change, {@code null} for deletes.
+     */
+    @Column(name = "email_id")
+    private String email;
+
+    /**
+     * The version of the employee after the change, the last version for deletes.
+     */
+    @Column(name = "version")
+    private Long version;
+
+    /**
+     * When the change was written.
+     */
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,37 @@
+package com.mrugesh.crud.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Represents the email id of an employee in the email lookup.
+ * Maps to the 'employee_emails' table in the database.
+ *
+ * <p>The employees table is partitioned by id, so it cannot enforce unique email ids itself, nor find an email id
+ * without visiting every partition. The lookup does both: a trigger on {@code employees} keeps it in step inside the
+ * writing transaction (see {@code V1__partitioned_employees.sql}), and queries by email id read the employee id
+ * here first. The application only reads it.</p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Immutable
+@Table(name = "employee_emails")
+public class EmployeeEmail {
+
+    /**
+     * The email id.
+     */
+    @Id
+    @Column(name = "email_id")
+    private String email;
+
+    /**
+     * The unique identifier of the employee with this email id.
+     */
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+}
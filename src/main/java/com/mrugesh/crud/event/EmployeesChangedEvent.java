@@ -0,0 +1,14 @@
+package com.mrugesh.crud.event;
+
+import java.util.Collection;
+
+/**
+ * Published by the write paths whenever employees are created, updated or deleted.
+ *
+ * <p>Listeners should react after commit ({@code @TransactionalEventListener}), when the change is visible
+ * to other transactions.</p>
+ *
+ * @param employeeIds the ids of the written employees
+ */
+public record EmployeesChangedEvent(Collection<Long> employeeIds) {
+}
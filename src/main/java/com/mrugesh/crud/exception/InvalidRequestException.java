@@ -0,0 +1,30 @@
+package com.mrugesh.crud.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception throws when a request carries parameters the API cannot honour.
+ *
+ * <p>This exception is typically used in service layers to reject input such as an unknown
+ * sort field or a malformed continuation token before it reaches the database.</p>
+ *
+ * <p>The {@code InvalidRequestException} is annotated with
+ * {@link ResponseStatus}, which marks the response with a 400 Bad Request status
+ * when the exception is thrown in a Spring Web application.</p>
+ *
+ * @see RuntimeException
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidRequestException extends RuntimeException{
+
+    /**
+     * Constructs a new {@code InvalidRequestException} with the specified detail message.
+     *
+     * @param message the detail message that explains why the request was rejected
+     */
+    public InvalidRequestException(String message){
+        super(message);
+    }
+
+}
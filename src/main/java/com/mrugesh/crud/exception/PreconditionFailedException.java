@@ -0,0 +1,30 @@
+package com.mrugesh.crud.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception throws when a conditional request does not hold for the current state of a resource.
+ *
+ * <p>This exception is typically used in controllers when the {@code If-Match} header of a write
+ * no longer matches the ETag of the employee, i.e. the client is about to overwrite a change it has not seen.</p>
+ *
+ * <p>The {@code PreconditionFailedException} is annotated with
+ * {@link ResponseStatus}, which marks the response with a 412 Precondition Failed status
+ * when the exception is thrown in a Spring Web application.</p>
+ *
+ * @see RuntimeException
+ */
+@ResponseStatus(value = HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException{
+
+    /**
+     * Constructs a new {@code PreconditionFailedException} with the specified detail message.
+     *
+     * @param message the detail message that explains which precondition failed
+     */
+    public PreconditionFailedException(String message){
+        super(message);
+    }
+
+}
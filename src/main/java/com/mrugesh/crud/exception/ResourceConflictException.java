@@ -0,0 +1,30 @@
+package com.mrugesh.crud.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception throws when a write conflicts with the current state of a resource.
+ *
+ * <p>This exception is typically used in service layers when an optimistic version check fails,
+ * i.e. the employee was modified by someone else since the client last read it.</p>
+ *
+ * <p>The {@code ResourceConflictException} is annotated with
+ * {@link ResponseStatus}, which marks the response with a 409 Conflict status
+ * when the exception is thrown in a Spring Web application.</p>
+ *
+ * @see RuntimeException
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class ResourceConflictException extends RuntimeException{
+
+    /**
+     * Constructs a new {@code ResourceConflictException} with the specified detail message.
+     *
+     * @param message the detail message that explains the conflict
+     */
+    public ResourceConflictException(String message){
+        super(message);
+    }
+
+}
@@ -13,6 +13,10 @@ import org.springframework.web.bind.annotation.ResponseStatus;
  * {@link ResponseStatus}, which marks the response with a 404 Not Found status
  * when the exception is thrown in a Spring Web application.</p>
  *
+ * <p>Unknown ids are an expected answer rather than a failure, so the exception records no stack trace and
+ * allows no suppressed exceptions: throwing it costs about as much as any other object allocation. It is
+ * rendered as a problem detail by {@link RestExceptionHandler}.</p>
+ *
  * @see RuntimeException
  */
 @ResponseStatus(value = HttpStatus.NOT_FOUND)
@@ -24,7 +28,7 @@ public class ResourceNotFoundException extends RuntimeException{
      * @param message the detail message that explains why the error was thrown to you
      */
     public ResourceNotFoundException(String message){
-        super(message);
+        super(message, null, false, false);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.mrugesh.crud.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Renders the exceptions of this package as RFC 7807 problem details ({@code application/problem+json}).
+ *
+ * <p>Without this advice, a {@link ResponseStatus} exception makes the servlet container forward the request
+ * to the {@code /error} page, which dispatches it a second time and builds the error body in
+ * {@code BasicErrorController}. Here the response is written in the original dispatch, the stack trace is
+ * neither read nor logged, and the same handlers serve the servlet and the reactive controllers.</p>
+ *
+ * <p>The {@link ResponseStatus} annotations stay on the exceptions for callers outside the controllers and
+ * keep documenting the status each one stands for.</p>
+ */
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ProblemDetail> handleNotFound(ResourceNotFoundException ex) {
+        return problem(HttpStatus.NOT_FOUND, ex);
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidRequest(InvalidRequestException ex) {
+        return problem(HttpStatus.BAD_REQUEST, ex);
+    }
+
+    @ExceptionHandler(ResourceConflictException.class)
+    public ResponseEntity<ProblemDetail> handleConflict(ResourceConflictException ex) {
+        return problem(HttpStatus.CONFLICT, ex);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ProblemDetail> handlePreconditionFailed(PreconditionFailedException ex) {
+        return problem(HttpStatus.PRECONDITION_FAILED, ex);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ProblemDetail> handleOverloaded(ServiceOverloadedException ex) {
+        return problem(HttpStatus.SERVICE_UNAVAILABLE, ex);
+    }
+
+    private static ResponseEntity<ProblemDetail> problem(HttpStatus status, RuntimeException ex) {
+        return ResponseEntity.of(ProblemDetail.forStatusAndDetail(status, ex.getMessage())).build();
+    }
+}
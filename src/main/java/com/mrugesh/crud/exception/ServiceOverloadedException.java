@@ -0,0 +1,30 @@
+package com.mrugesh.crud.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception throws when the service has no capacity left to accept a request.
+ *
+ * <p>This exception is typically used to shed load, for example when no database permit
+ * could be acquired in time, so callers can back off and retry instead of piling up.</p>
+ *
+ * <p>The {@code ServiceOverloadedException} is annotated with
+ * {@link ResponseStatus}, which marks the response with a 503 Service Unavailable status
+ * when the exception is thrown in a Spring Web application.</p>
+ *
+ * @see RuntimeException
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceOverloadedException extends RuntimeException{
+
+    /**
+     * Constructs a new {@code ServiceOverloadedException} with the specified detail message.
+     *
+     * @param message the detail message that explains which capacity is exhausted
+     */
+    public ServiceOverloadedException(String message){
+        super(message);
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.mrugesh.crud.interceptor;
+
+import com.mrugesh.crud.datasource.ReadYourWritesContext;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Opens a {@link ReadYourWritesContext} for every request and keeps it across the requests of a session.
+ *
+ * <p>When a request writes, the deadline until which its reads stay on the primary is sent back in a cookie,
+ * so the follow-up reads of the same client do not observe a replica that is behind.</p>
+ *
+ * <p>An asynchronous request releases its thread before the handler completes: the context is unbound from it
+ * then, and opened again for the dispatch that writes the result.</p>
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String COOKIE_NAME = "crud-primary-until";
+
+    private final Duration stickFor;
+
+    public ReadYourWritesInterceptor(Duration stickFor) {
+        this.stickFor = stickFor;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadYourWritesContext.open(primaryUntil(request), primaryUntil -> {
+            if (!response.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(primaryUntil.toEpochMilli()));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) stickFor.toSeconds() + 1);
+                response.addCookie(cookie);
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadYourWritesContext.close();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadYourWritesContext.close();
+    }
+
+    /**
+     * Reads the deadline from the cookie. It comes from the client, so it is never trusted beyond what a write
+     * made now would set: a forged far-future value must not keep a client's reads on the primary.
+     */
+    private Instant primaryUntil(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE_NAME);
+        if (cookie == null) {
+            return null;
+        }
+        try {
+            Instant primaryUntil = Instant.ofEpochMilli(Long.parseLong(cookie.getValue()));
+            Instant latest = Instant.now().plus(stickFor);
+            return primaryUntil.isAfter(latest) ? latest : primaryUntil;
+        } catch (NumberFormatException | DateTimeException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.mrugesh.crud.interceptor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records how many SQL statements each HTTP request executed.
+ *
+ * <p>The statements are counted per thread by the datasource-proxy configured in {@code DataSourceProxyConfig}
+ * and published as the {@code employee.sql.statements} distribution, tagged with the URI template and method,
+ * which makes N+1 selects and redundant round trips stand out.</p>
+ *
+ * <p>Asynchronous requests, such as a creation through the write-behind queue or a streamed export, are not
+ * recorded: their statements run on other threads, and the dispatch completing them would only count its own.</p>
+ */
+@Component
+@AllArgsConstructor
+public class SqlStatementMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountHolder.clear();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountHolder.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            QueryCountHolder.clear();
+            return;
+        }
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("employee.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                .tag("method", request.getMethod())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(QueryCountHolder.getGrandTotal().getTotal());
+        QueryCountHolder.clear();
+    }
+}
@@ -0,0 +1,67 @@
+package com.mrugesh.crud.mapper;
+
+import com.mrugesh.crud.exception.PreconditionFailedException;
+import org.springframework.http.MediaType;
+
+/**
+ * Utility class for mapping between versions and the strong ETags handed to clients.
+ *
+ * <p>The ETag of an employee is its version, which every write increments, and the ETag of an employee
+ * collection is the table-level change counter. Neither needs the body to be serialized or hashed.</p>
+ *
+ * <p>A strong ETag names one exact body, so the CBOR and Smile encodings of a version get ETags of their own, the
+ * version followed by the media subtype, e.g. {@code "7-cbor"}. JSON keeps the bare version.</p>
+ */
+public class ETagMapper {
+
+    private static final String ANY = "*";
+
+    /**
+     * Maps a version or change counter to a strong ETag.
+     *
+     * @param version the version
+     * @return the quoted ETag
+     */
+    public static String mapToETag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Maps a version or change counter to the strong ETag of one encoding of the body.
+     *
+     * @param version the version
+     * @param encoding the media type the body is written in, {@code null} or JSON for the bare version
+     * @return the quoted ETag
+     */
+    public static String mapToETag(long version, MediaType encoding) {
+        if (encoding == null || MediaType.APPLICATION_JSON.equalsTypeAndSubtype(encoding)) {
+            return mapToETag(version);
+        }
+        return "\"" + version + "-" + encoding.getSubtype() + "\"";
+    }
+
+    /**
+     * Maps an {@code If-Match} header to the version the client expects.
+     *
+     * @param ifMatch the header value, may be {@code null}
+     * @return the expected version, {@code null} when the header is absent or {@code *}
+     * @throws PreconditionFailedException if the header cannot match any version, e.g. a weak or foreign ETag
+     */
+    public static Long mapToVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            String value = etag.substring(1, etag.length() - 1);
+            int encoding = value.indexOf('-');
+            try {
+                // the ETag of any encoding names the same version
+                return Long.parseLong(encoding < 0 ? value : value.substring(0, encoding));
+            } catch (NumberFormatException ignored) {
+                // fall through, not one of our ETags
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current ETag: " + ifMatch);
+    }
+}
@@ -0,0 +1,63 @@
+package com.mrugesh.crud.mapper;
+
+import com.mrugesh.crud.dto.EmployeeChangeBatchDto;
+import com.mrugesh.crud.dto.EmployeeChangeDto;
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.entity.EmployeeChange;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility class for mapping {@link EmployeeChange} entities to the DTOs of the change feed.
+ */
+public class EmployeeChangeMapper {
+
+    /**
+     * Maps an {@link EmployeeChange} entity to an {@link EmployeeChangeDto}.
+     *
+     * @param change the change entity to be mapped
+     * @return the mapped change DTO
+     */
+    public static EmployeeChangeDto mapToEmployeeChangeDto(EmployeeChange change) {
+        return new EmployeeChangeDto(
+                change.getSeq(),
+                change.getType(),
+                new EmployeeDto(change.getEmployeeId(), change.getFirstname(), change.getLastname(),
+                        change.getEmail(), change.getVersion()),
+                change.getChangedAt()
+        );
+    }
+
+    /**
+     * Maps consecutive changes to a batch, keeping only the last change of every employee.
+     *
+     * @param changes the changes, in feed order
+     * @param after the sequence number the batch follows, returned as is when there are no changes
+     * @return the coalesced batch
+     */
+    public static EmployeeChangeBatchDto mapToEmployeeChangeBatchDto(List<EmployeeChange> changes, long after) {
+        Map<Long, EmployeeChange> lastChanges = new LinkedHashMap<>();
+        for (EmployeeChange change : changes) {
+            // re-insert so the employee moves to the position of its last change
+            lastChanges.remove(change.getEmployeeId());
+            lastChanges.put(change.getEmployeeId(), change);
+        }
+        List<EmployeeChangeDto> changeDtos = new ArrayList<>(lastChanges.size());
+        lastChanges.values().forEach(change -> changeDtos.add(mapToEmployeeChangeDto(change)));
+        long nextSeq = changes.isEmpty() ? after : changes.get(changes.size() - 1).getSeq();
+        return new EmployeeChangeBatchDto(changeDtos, nextSeq, false);
+    }
+
+    /**
+     * Maps the end of the feed to the batch telling a consumer that changes it has not seen were deleted.
+     *
+     * @param lastSeq the current end of the feed, where the consumer resumes after reloading the employees
+     * @return the empty batch asking for a resync
+     */
+    public static EmployeeChangeBatchDto mapToResyncBatchDto(long lastSeq) {
+        return new EmployeeChangeBatchDto(List.of(), lastSeq, true);
+    }
+}
@@ -24,7 +24,8 @@ public class EmployeeMapper {
                 employee.getId(),
                 employee.getFirstname(),
                 employee.getLastname(),
-                employee.getEmail()
+                employee.getEmail(),
+                employee.getVersion()
                 );
     }
 
@@ -42,7 +43,8 @@ public class EmployeeMapper {
                 employeeDto.getId(),
                 employeeDto.getFirstName(),
                 employeeDto.getLastName(),
-                employeeDto.getEmail()
+                employeeDto.getEmail(),
+                employeeDto.getVersion()
                 );
     }
 }
@@ -0,0 +1,85 @@
+package com.mrugesh.crud.mapper;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrugesh.crud.exception.InvalidRequestException;
+import com.mrugesh.crud.repository.sort.EmployeeSortField;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Utility class for mapping between {@link KeysetScrollPosition} objects and the opaque continuation tokens handed to clients.
+ *
+ * <p>A token is the URL-safe Base64 encoding of the JSON keys of the last row of a window. Clients only echo it back,
+ * so the keyset itself stays an implementation detail of the API.</p>
+ */
+public class ScrollTokenMapper {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final TypeReference<Map<String, Object>> KEYS_TYPE = new TypeReference<>() {
+    };
+
+    /**
+     * Maps a keyset {@link ScrollPosition} to a continuation token.
+     *
+     * @param position the position of the last row of a window
+     * @return the opaque token identifying that position
+     */
+    public static String mapToToken(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keysetPosition)) {
+            throw new IllegalArgumentException("Only keyset positions can be encoded, got: " + position);
+        }
+        try {
+            byte[] json = OBJECT_MAPPER.writeValueAsBytes(keysetPosition.getKeys());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode scroll position", e);
+        }
+    }
+
+    /**
+     * Maps a continuation token back to a {@link KeysetScrollPosition} for the given sort.
+     *
+     * <p>A blank token denotes the first window. The keys of the token must match the properties of the sort,
+     * otherwise the token belongs to another listing and is rejected.</p>
+     *
+     * @param token the token received from the client, may be {@code null}
+     * @param sort the sort the next window is requested with
+     * @return the position to continue scrolling from
+     * @throws InvalidRequestException if the token is malformed or does not match the sort
+     */
+    public static KeysetScrollPosition mapToScrollPosition(String token, Sort sort) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys;
+        try {
+            keys = OBJECT_MAPPER.readValue(Base64.getUrlDecoder().decode(token), KEYS_TYPE);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new InvalidRequestException("Invalid continuation token");
+        }
+        if (keys.size() != sort.stream().count()) {
+            throw new InvalidRequestException("Continuation token does not match the requested sort");
+        }
+        Map<String, Object> orderedKeys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            Object value = keys.get(order.getProperty());
+            if (value == null) {
+                throw new InvalidRequestException("Continuation token does not match the requested sort");
+            }
+            // JSON numbers come back as the smallest fitting type, the id column is always a Long
+            if (EmployeeSortField.ID.getProperty().equals(order.getProperty()) && value instanceof Number number) {
+                value = number.longValue();
+            }
+            orderedKeys.put(order.getProperty(), value);
+        }
+        return ScrollPosition.forward(orderedKeys);
+    }
+}
@@ -0,0 +1,32 @@
+package com.mrugesh.crud.repository;
+
+import com.mrugesh.crud.entity.EmployeeChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+/**
+ * Repository interface for {@link EmployeeChange} entities, the outbox behind the change feed.
+ */
+public interface EmployeeChangeRepository extends JpaRepository<EmployeeChange, Long> {
+
+    /**
+     * Finds the changes following a position of the feed, with a range scan of the unique index on {@code seq}.
+     * Changes without a position yet are not returned.
+     *
+     * @param seq the last sequence number the consumer has seen
+     * @param limit the maximum number of changes
+     * @return the changes, in feed order
+     */
+    List<EmployeeChange> findBySeqGreaterThanOrderBySeqAsc(long seq, Limit limit);
+
+    /**
+     * Finds the current end of the feed, the position a consumer starts from to only receive future changes.
+     *
+     * @return the sequence number of the last change, {@code 0} if there is none
+     */
+    @Query("select coalesce(max(c.seq), 0) from EmployeeChange c")
+    long findLastSeq();
+}
@@ -1,11 +1,25 @@
 package com.mrugesh.crud.repository;
 
+import com.mrugesh.crud.config.CacheConfig;
+import com.mrugesh.crud.dto.EmployeeDto;
 import com.mrugesh.crud.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for {@link Employee} entities.
@@ -14,8 +28,214 @@ import java.util.List;
  * <p>This interface extends {@link JpaRepository},
  * allowing the use of JPA methods for persistence operations
  * such as saving, deleting, and finding and updating entities.</p>
+ *
+ * <p>Projected reads into {@code EmployeeDto} come from the {@link EmployeeSearchRepository} fragment.</p>
  */
-public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>, EmployeeSearchRepository {
     List<Employee> findAll(Specification<Employee>specification);
 
+    /**
+     * Finds one employee, reading its columns straight into a {@link EmployeeDto}.
+     * Called outside a transaction, it runs in a read-only one of its own.
+     *
+     * @param id the unique ID of the employee
+     * @return the employee, empty if it does not exist
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.mrugesh.crud.dto.EmployeeDto(e.id, e.firstname, e.lastname, e.email, e.version)"
+            + " from Employee e where e.id = :id")
+    Optional<EmployeeDto> findDtoById(@Param("id") Long id);
+
+    /**
+     * Finds the employees with the given email id, reading their columns straight into {@link EmployeeDto}s.
+     *
+     * <p>The email id is resolved to an employee id through the {@code employee_emails} lookup first, so on the
+     * partitioned table only the partition holding that id is scanned, the others are pruned when the statement
+     * runs. Called outside a transaction, it runs in a read-only one of its own.</p>
+     *
+     * @param email the email id to match
+     * @return the employee with the email id, at most one
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.mrugesh.crud.dto.EmployeeDto(e.id, e.firstname, e.lastname, e.email, e.version)"
+            + " from Employee e where e.id = (select m.employeeId from EmployeeEmail m where m.email = :email)")
+    List<EmployeeDto> findAllDtosByEmail(@Param("email") String email);
+
+    /**
+     * Finds the employees with the given ids in a single statement.
+     *
+     * <p>The ids are bound as one array parameter, so every number of ids shares the same SQL and plan, unlike
+     * an {@code IN} list with one placeholder per id. The native query is declared on {@link Employee}, its
+     * columns are read straight into {@link EmployeeDto}s through a constructor result mapping, no entity is
+     * loaded into the persistence context.</p>
+     *
+     * @param ids the ids to look up
+     * @return the employees found, in no particular order
+     */
+    @Transactional(readOnly = true)
+    List<EmployeeDto> findAllDtosByIdArray(@Param("ids") Long[] ids);
+
+    /**
+     * Finds one slice of employees ordered by id, reading their columns straight into {@link EmployeeDto}s.
+     *
+     * <p>No count query is issued, one extra row is read to tell whether another slice follows.
+     * Called outside a transaction, it runs in a read-only one of its own.</p>
+     *
+     * @param pageable the slice to read
+     * @return the slice
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.mrugesh.crud.dto.EmployeeDto(e.id, e.firstname, e.lastname, e.email, e.version)"
+            + " from Employee e order by e.id")
+    Slice<EmployeeDto> findDtoSlice(Pageable pageable);
+
+    /**
+     * Counts all employees, or returns a count of the last few seconds.
+     *
+     * <p>The count scans the whole table, so it is kept in the short-lived
+     * {@value CacheConfig#EMPLOYEE_COUNT_CACHE} cache, cleared whenever employees are created or deleted on this
+     * instance. Writes of other instances are missed until it expires, so the result is an estimate; use
+     * {@link #count()} for an exact count.</p>
+     *
+     * @return the number of employees, possibly a few seconds old
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEE_COUNT_CACHE)
+    @Query("select count(e) from Employee e")
+    long countAll();
+
+    /**
+     * Estimates the number of employees from the planner statistics of the partitions, without scanning them.
+     *
+     * <p>The partitioned table itself keeps no row estimate, the estimates of its partitions are added up.</p>
+     *
+     * @return the estimated number of employees, negative if a partition has not been analyzed yet
+     */
+    @Transactional(readOnly = true)
+    @Query(value = """
+            SELECT CASE WHEN min(c.reltuples) < 0 THEN -1 ELSE CAST(sum(c.reltuples) AS bigint) END
+              FROM pg_inherits i
+              JOIN pg_class c ON c.oid = i.inhrelid
+             WHERE i.inhparent = CAST('employees' AS regclass)
+            """, nativeQuery = true)
+    long estimateCount();
+
+    /**
+     * Streams all employees through a server-side cursor instead of loading the whole table.
+     *
+     * <p>Rows are fetched from the database in chunks of the configured fetch size and read straight
+     * into {@link EmployeeDto}s, so the persistence context stays empty however large the table is.
+     * The stream must be consumed inside a transaction and closed by the caller.</p>
+     *
+     * @return a lazily populated stream over every employee
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.mrugesh.crud.dto.EmployeeDto(e.id, e.firstname, e.lastname, e.email, e.version)"
+            + " from Employee e")
+    Stream<EmployeeDto> streamAllDtos();
+
+    /**
+     * Replaces the fields of an employee with a single {@code UPDATE} statement.
+     *
+     * <p>When {@code version} is given the row is only updated if its version still matches, which gives
+     * optimistic concurrency control without loading the row first. The statement is JPQL, so it runs on H2 as
+     * well; the caller reads the row back in the same transaction.</p>
+     *
+     * @param id the unique ID of the employee to update
+     * @param firstName the new first name
+     * @param lastName the new last name
+     * @param email the new email id
+     * @param version the expected version, or {@code null} to update unconditionally
+     * @return the number of updated rows, {@code 0} if no row matched the id and version
+     */
+    @Transactional
+    @Modifying
+    @Query("update Employee e set e.firstname = :firstName, e.lastname = :lastName, e.email = :email,"
+            + " e.version = e.version + 1"
+            + " where e.id = :id and (:version is null or e.version = :version)")
+    int updateEmployee(@Param("id") Long id,
+                       @Param("firstName") String firstName,
+                       @Param("lastName") String lastName,
+                       @Param("email") String email,
+                       @Param("version") Long version);
+
+    /**
+     * Updates only the non-null fields of an employee with a single {@code UPDATE} statement.
+     *
+     * @param id the unique ID of the employee to patch
+     * @param firstName the new first name, or {@code null} to keep the current one
+     * @param lastName the new last name, or {@code null} to keep the current one
+     * @param email the new email id, or {@code null} to keep the current one
+     * @param version the expected version, or {@code null} to update unconditionally
+     * @return the number of updated rows, {@code 0} if no row matched the id and version
+     */
+    @Transactional
+    @Modifying
+    @Query("update Employee e set e.firstname = coalesce(:firstName, e.firstname),"
+            + " e.lastname = coalesce(:lastName, e.lastname), e.email = coalesce(:email, e.email),"
+            + " e.version = e.version + 1"
+            + " where e.id = :id and (:version is null or e.version = :version)")
+    int patchEmployee(@Param("id") Long id,
+                      @Param("firstName") String firstName,
+                      @Param("lastName") String lastName,
+                      @Param("email") String email,
+                      @Param("version") Long version);
+
+    /**
+     * Deletes an employee with a single {@code DELETE ... WHERE id = ?} statement.
+     *
+     * @param id the unique ID of the employee to delete
+     * @param version the expected version, or {@code null} to delete unconditionally
+     * @return the number of deleted rows, {@code 0} if no row matched the id and version
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Employee e where e.id = :id and (:version is null or e.version = :version)")
+    int deleteEmployeeById(@Param("id") Long id, @Param("version") Long version);
+
+    /**
+     * Reads the change counter of the employees table, which grows with every committed write.
+     *
+     * <p>Derived from the change feed outbox in one snapshot: the counter row, bumped by bulk loads only,
+     * plus the last feed position, plus the changes still waiting for a position (see
+     * {@code V5__change_counter_without_row_lock.sql}). All three are index lookups.</p>
+     *
+     * @return the parts of the counter
+     */
+    @Query(value = """
+            SELECT (SELECT value FROM employees_change_counter WHERE id = 1) AS base,
+                   (SELECT coalesce(max(seq), 0) FROM employee_changes) AS sequenced,
+                   (SELECT count(*) FROM employee_changes WHERE seq IS NULL) AS pending
+            """, nativeQuery = true)
+    ChangeCount getChangeCount();
+
+    /**
+     * The change counter of the employees table, kept in its parts so a consumer of the change feed can tell
+     * whether it has seen every change counted.
+     */
+    interface ChangeCount {
+
+        /**
+         * @return the counter row, bumped by bulk loads that bypass the change feed
+         */
+        long getBase();
+
+        /**
+         * @return the last position of the change feed
+         */
+        long getSequenced();
+
+        /**
+         * @return the committed changes still waiting for a position
+         */
+        long getPending();
+
+        /**
+         * @return the value of the counter
+         */
+        default long getTotal() {
+            return getBase() + getSequenced() + getPending();
+        }
+    }
+
 }
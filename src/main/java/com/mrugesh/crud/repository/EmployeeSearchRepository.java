@@ -0,0 +1,35 @@
+package com.mrugesh.crud.repository;
+
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.entity.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Repository fragment for reading {@link Employee} rows straight into {@link EmployeeDto} projections.
+ *
+ * <p>Only the projected columns are selected and no entity is managed, so Hibernate keeps
+ * no snapshot for dirty checking.</p>
+ */
+public interface EmployeeSearchRepository {
+
+    /**
+     * Finds one slice of employees matching the specification, without issuing a count query.
+     *
+     * @param specification the predicates to match, may be {@code null}
+     * @param pageable the page to read, ordered by id when unsorted
+     * @return the matching employees and whether more follow
+     */
+    Slice<EmployeeDto> findDtos(Specification<Employee> specification, Pageable pageable);
+
+    /**
+     * Finds every employee matching the specification, ordered by id.
+     *
+     * @param specification the predicates to match, may be {@code null}
+     * @return the matching employees
+     */
+    List<EmployeeDto> findAllDtos(Specification<Employee> specification);
+}
@@ -0,0 +1,66 @@
+package com.mrugesh.crud.repository;
+
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.entity.Employee;
+import com.mrugesh.crud.repository.sort.EmployeeSortField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Criteria API implementation of {@link EmployeeSearchRepository}.
+ * Called outside a transaction, the queries run in a read-only one of their own.
+ */
+@AllArgsConstructor
+public class EmployeeSearchRepositoryImpl implements EmployeeSearchRepository {
+
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<EmployeeDto> findDtos(Specification<Employee> specification, Pageable pageable) {
+        Sort sort = pageable.getSortOr(Sort.by(EmployeeSortField.ID.getProperty()));
+
+        // read one extra row to learn whether another slice follows
+        List<EmployeeDto> content = createDtoQuery(specification, sort)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeDto> findAllDtos(Specification<Employee> specification) {
+        return createDtoQuery(specification, Sort.by(EmployeeSortField.ID.getProperty())).getResultList();
+    }
+
+    private TypedQuery<EmployeeDto> createDtoQuery(Specification<Employee> specification, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeDto> query = criteriaBuilder.createQuery(EmployeeDto.class);
+        Root<Employee> root = query.from(Employee.class);
+
+        query.select(criteriaBuilder.construct(EmployeeDto.class,
+                root.get("id"), root.get("firstname"), root.get("lastname"), root.get("email"), root.get("version")));
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        return entityManager.createQuery(query);
+    }
+}
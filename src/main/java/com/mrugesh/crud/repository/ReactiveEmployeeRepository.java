@@ -0,0 +1,206 @@
+package com.mrugesh.crud.repository;
+
+import com.mrugesh.crud.dto.EmployeeDto;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeRepository}, reading and writing the employees table through R2DBC.
+ *
+ * <p>Rows are mapped straight to {@link EmployeeDto}s, there is no persistence context. Streaming queries hand
+ * the subscriber's demand down to the database in chunks of the stream fetch size, so a slow consumer pauses the
+ * cursor instead of buffering the table.</p>
+ *
+ * <p>Ids come from {@code employees_seq} in the same blocks of {@value #ID_ALLOCATION_SIZE} that Hibernate's pooled
+ * optimizer uses for {@code Employee}, both stacks can write to one database without colliding.</p>
+ */
+public class ReactiveEmployeeRepository {
+
+    static final int ID_ALLOCATION_SIZE = 50;
+
+    private static final String SELECT_EMPLOYEES = "SELECT id, first_name, last_name, email_id, version FROM employees";
+
+    private final DatabaseClient databaseClient;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final int streamFetchSize;
+
+    private final Object idLock = new Object();
+
+    private long nextId;
+
+    private long lastId = -1;
+
+    public ReactiveEmployeeRepository(DatabaseClient databaseClient, TransactionalOperator transactionalOperator,
+                                      int streamFetchSize) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    /**
+     * Reads a single employee.
+     *
+     * @param id the unique ID of the employee
+     * @return the employee, empty if there is none with the given id
+     */
+    public Mono<EmployeeDto> findDtoById(Long id) {
+        return databaseClient.sql(SELECT_EMPLOYEES + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveEmployeeRepository::mapToEmployeeDto)
+                .one();
+    }
+
+    /**
+     * Checks whether an employee exists.
+     *
+     * @param id the unique ID of the employee
+     * @return {@code true} if there is an employee with the given id
+     */
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT 1 FROM employees WHERE id = :id")
+                .bind("id", id)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * Streams all employees ordered by id.
+     *
+     * @return the employees, fetched as the subscriber requests them
+     */
+    public Flux<EmployeeDto> streamAllDtos() {
+        return databaseClient.sql(SELECT_EMPLOYEES + " ORDER BY id")
+                .filter(statement -> statement.fetchSize(streamFetchSize))
+                .map(ReactiveEmployeeRepository::mapToEmployeeDto)
+                .all();
+    }
+
+    /**
+     * Streams the employees with the given email id, ordered by id.
+     *
+     * <p>The email id is resolved through the {@code employee_emails} lookup, so one partition is read.</p>
+     *
+     * @param email the email id to match
+     * @return the matching employees, fetched as the subscriber requests them
+     */
+    public Flux<EmployeeDto> streamDtosByEmail(String email) {
+        return databaseClient.sql(SELECT_EMPLOYEES
+                        + " WHERE id = (SELECT employee_id FROM employee_emails WHERE email_id = :email) ORDER BY id")
+                .bind("email", email)
+                .filter(statement -> statement.fetchSize(streamFetchSize))
+                .map(ReactiveEmployeeRepository::mapToEmployeeDto)
+                .all();
+    }
+
+    /**
+     * Inserts a new employee with the next id of {@code employees_seq} and version 0.
+     *
+     * @param firstName the first name
+     * @param lastName the last name
+     * @param email the email id
+     * @return the stored employee
+     */
+    public Mono<EmployeeDto> insert(String firstName, String lastName, String email) {
+        return nextId().flatMap(id -> bindNullable(databaseClient.sql("""
+                        INSERT INTO employees (id, first_name, last_name, email_id, version)
+                        VALUES (:id, :firstName, :lastName, :email, 0)
+                        """)
+                        .bind("id", id), firstName, lastName, email)
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(new EmployeeDto(id, firstName, lastName, email, 0L)));
+    }
+
+    /**
+     * Replaces the fields of an employee and increments its version, in one transaction with the read of the result.
+     *
+     * @param id the unique ID of the employee to update
+     * @param firstName the new first name
+     * @param lastName the new last name
+     * @param email the new email id
+     * @param version the expected version, or {@code null} to update unconditionally
+     * @return the updated employee, empty if no row matched the id and version
+     */
+    public Mono<EmployeeDto> update(Long id, String firstName, String lastName, String email, Long version) {
+        DatabaseClient.GenericExecuteSpec update = bindNullable(databaseClient.sql("""
+                        UPDATE employees
+                           SET first_name = :firstName, last_name = :lastName, email_id = :email, version = version + 1
+                         WHERE id = :id
+                        """ + (version == null ? "" : " AND version = :version"))
+                .bind("id", id), firstName, lastName, email);
+        if (version != null) {
+            update = update.bind("version", version);
+        }
+        return update.fetch()
+                .rowsUpdated()
+                .filter(rowsUpdated -> rowsUpdated > 0)
+                .flatMap(rowsUpdated -> findDtoById(id))
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Deletes an employee.
+     *
+     * @param id the unique ID of the employee to delete
+     * @param version the expected version, or {@code null} to delete unconditionally
+     * @return the number of deleted rows, 0 if no row matched the id and version
+     */
+    public Mono<Long> delete(Long id, Long version) {
+        DatabaseClient.GenericExecuteSpec delete = databaseClient
+                .sql("DELETE FROM employees WHERE id = :id" + (version == null ? "" : " AND version = :version"))
+                .bind("id", id);
+        if (version != null) {
+            delete = delete.bind("version", version);
+        }
+        return delete.fetch().rowsUpdated();
+    }
+
+    /**
+     * Hands out the next id of the current block, and takes a new block from {@code employees_seq} once it is used up.
+     * Like Hibernate's pooled optimizer, a sequence value {@code v} stands for the ids {@code v - 49} to {@code v}.
+     */
+    private Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            synchronized (idLock) {
+                if (nextId <= lastId) {
+                    return Mono.just(nextId++);
+                }
+            }
+            return databaseClient.sql("SELECT nextval('employees_seq')")
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .map(blockEnd -> {
+                        long blockStart = Math.max(1, blockEnd - ID_ALLOCATION_SIZE + 1);
+                        // a block fetched concurrently is simply dropped, that only leaves a gap
+                        synchronized (idLock) {
+                            nextId = blockStart + 1;
+                            lastId = blockEnd;
+                        }
+                        return blockStart;
+                    });
+        });
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                  String firstName, String lastName, String email) {
+        spec = firstName == null ? spec.bindNull("firstName", String.class) : spec.bind("firstName", firstName);
+        spec = lastName == null ? spec.bindNull("lastName", String.class) : spec.bind("lastName", lastName);
+        return email == null ? spec.bindNull("email", String.class) : spec.bind("email", email);
+    }
+
+    private static EmployeeDto mapToEmployeeDto(Readable row) {
+        return new EmployeeDto(
+                row.get("id", Long.class),
+                row.get("first_name", String.class),
+                row.get("last_name", String.class),
+                row.get("email_id", String.class),
+                row.get("version", Long.class)
+        );
+    }
+}
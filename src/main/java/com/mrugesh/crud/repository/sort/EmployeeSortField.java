@@ -0,0 +1,56 @@
+package com.mrugesh.crud.repository.sort;
+
+import com.mrugesh.crud.entity.Employee;
+import com.mrugesh.crud.exception.InvalidRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Whitelist of the {@link Employee} fields that clients are allowed to sort by.
+ *
+ * <p>Each constant maps the field name exposed by the API to the entity property used in
+ * queries and to the underlying column, so user input never reaches {@code Sort.by} directly.</p>
+ */
+@Getter
+@AllArgsConstructor
+public enum EmployeeSortField {
+
+    ID("id", "id", "id", false),
+    FIRST_NAME("firstName", "firstname", "first_name", true),
+    LAST_NAME("lastName", "lastname", "last_name", true),
+    EMAIL("email", "email", "email_id", false);
+
+    /**
+     * The field name used by API clients.
+     */
+    private final String fieldName;
+    /**
+     * The {@link Employee} property the field maps to.
+     */
+    private final String property;
+    /**
+     * The column of the 'employees' table backing the property.
+     */
+    private final String column;
+    /**
+     * Whether the column may contain {@code null} values.
+     */
+    private final boolean nullable;
+
+    /**
+     * Resolves a client supplied field name, ignoring case so entity property names keep working.
+     *
+     * @param fieldName the field name to resolve
+     * @return the matching sort field
+     * @throws InvalidRequestException if the field is not sortable
+     */
+    public static EmployeeSortField fromFieldName(String fieldName) {
+        for (EmployeeSortField sortField : values()) {
+            if (sortField.fieldName.equalsIgnoreCase(fieldName)) {
+                return sortField;
+            }
+        }
+        throw new InvalidRequestException("Unsupported sort field: " + fieldName
+                + ". Allowed fields are id, firstName, lastName and email");
+    }
+}
@@ -1,19 +1,38 @@
 package com.mrugesh.crud.repository.specification;
 
+import com.mrugesh.crud.dto.EmployeeSearchCriteria;
 import com.mrugesh.crud.entity.Employee;
-import io.micrometer.common.util.StringUtils;
-import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.util.Locale;
 
 public class EmployeeSpecification {
-    public static Specification<Employee> filterEmployee(String email){
-        return ((root, query, criteriaBuilder) -> {
 
-            Predicate emailPredicate = criteriaBuilder.like(root.get("email"), StringUtils.isBlank(email) ? likePattern(""): email);
+    private static final char LIKE_ESCAPE = '\\';
+
+    /**
+     * Combines the non-blank criteria into case-insensitive {@code lower(column) LIKE ?} predicates,
+     * matching the expression indexes of {@code V2__employee_search_indexes.sql}.
+     */
+    public static Specification<Employee> searchEmployees(EmployeeSearchCriteria criteria){
+        return Specification.where(matches("firstname", criteria.getFirstName(), criteria.getMatch()))
+                .and(matches("lastname", criteria.getLastName(), criteria.getMatch()))
+                .and(matches("email", criteria.getEmail(), criteria.getMatch()));
+    }
 
-            return criteriaBuilder.and(emailPredicate);
-        });
+    private static Specification<Employee> matches(String property, String value, EmployeeSearchCriteria.Match match){
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        String escaped = escapeLike(value.trim().toLowerCase(Locale.ROOT));
+        String pattern = match == EmployeeSearchCriteria.Match.CONTAINS ? likePattern(escaped) : escaped + "%";
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.like(criteriaBuilder.lower(root.get(property)), pattern, LIKE_ESCAPE);
+    }
 
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     private static String likePattern(String value) {
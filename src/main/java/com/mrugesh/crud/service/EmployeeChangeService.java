@@ -0,0 +1,43 @@
+package com.mrugesh.crud.service;
+
+import com.mrugesh.crud.dto.EmployeeChangeBatchDto;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+/**
+ * Service interface for reading the employee change feed.
+ * Consumers keep the sequence number of the last batch they processed and resume from it.
+ *
+ * <p>Old changes are deleted from the feed. A consumer resuming from a position whose following changes are gone
+ * receives an empty batch flagged {@code resync}: it reloads the employees and resumes from that batch's
+ * {@code nextSeq}.</p>
+ */
+public interface EmployeeChangeService {
+
+    /**
+     * Return the changes following a position of the feed, without waiting
+     * @param after the last sequence number the consumer has seen, {@code 0} to start from the beginning
+     * @param limit maximum number of changes read for the batch
+     * @return the coalesced batch, empty when the consumer is up to date
+     */
+    EmployeeChangeBatchDto getChanges(long after, int limit);
+
+    /**
+     * Wait for the changes following a position of the feed (long polling)
+     * @param after the last sequence number the consumer has seen
+     * @param limit maximum number of changes read for the batch
+     * @param timeout how long to wait when the consumer is up to date
+     * @return completes with the next batch as soon as there is one, or with an empty batch after the timeout
+     */
+    CompletableFuture<EmployeeChangeBatchDto> pollChanges(long after, int limit, Duration timeout);
+
+    /**
+     * Push every batch following a position of the feed to a listener, until it declines or is cancelled
+     * @param after the last sequence number the consumer has seen
+     * @param listener receives the batches in order, returns {@code false} to stop
+     * @return cancels the subscription
+     */
+    Runnable subscribe(long after, Predicate<EmployeeChangeBatchDto> listener);
+}
@@ -1,9 +1,18 @@
 package com.mrugesh.crud.service;
 
+import com.mrugesh.crud.dto.BulkItemResultDto;
+import com.mrugesh.crud.dto.EmployeeBatchDto;
 import com.mrugesh.crud.dto.EmployeeDto;
-import org.springframework.data.domain.Page;
+import com.mrugesh.crud.dto.EmployeePageDto;
+import com.mrugesh.crud.dto.EmployeeSearchCriteria;
+import com.mrugesh.crud.dto.EmployeeWindowDto;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
 
 public interface EmployeeService {
 
@@ -14,6 +23,13 @@ public interface EmployeeService {
      */
     EmployeeDto createEmployee(EmployeeDto employeeDto);
 
+    /**
+     * create employees in bulk service
+     * @param employeeDtos the employees to create
+     * @return one result per employee, in request order
+     */
+    List<BulkItemResultDto> createEmployees(Iterable<EmployeeDto> employeeDtos);
+
     /**
      * get employee by id service
      * @param employeeId the ID of the employee to retrieve
@@ -21,12 +37,26 @@ public interface EmployeeService {
      */
     EmployeeDto getEmployeeById(Long employeeId);
 
+    /**
+     * find employee by id service, for callers that expect unknown ids
+     * @param employeeId the ID of the employee to look up
+     * @return the {@link EmployeeDto} with the given ID, empty when there is none
+     */
+    Optional<EmployeeDto> findEmployeeById(Long employeeId);
+
     /**
      * get all employee service
      * @return a list of {@link EmployeeDto} representing all employees in the system
      */
     List<EmployeeDto> getAllEmployees();
 
+    /**
+     * Export all employees one by one without materializing them in memory
+     * @param pinnedToPrimary whether the client has to read from the primary, decided on the request thread
+     * @param consumer callback invoked for every employee while the underlying cursor is open
+     */
+    void exportAllEmployees(boolean pinnedToPrimary, Consumer<EmployeeDto> consumer);
+
     /**
      * update employee by id service
      * @param employeeId Unique id to update employee
@@ -35,28 +65,88 @@ public interface EmployeeService {
      */
     EmployeeDto updateEmployee(Long employeeId, EmployeeDto updatedEmployee);
 
+    /**
+     * partially update employee by id service
+     * @param employeeId Unique id to update employee
+     * @param employeePatch Employee DTO containing only the fields to change
+     * @return Updated Employee DTO
+     */
+    EmployeeDto patchEmployee(Long employeeId, EmployeeDto employeePatch);
+
+    /**
+     * Update employees in bulk
+     * @param employeeDtos the employees to update, identified by their id
+     * @return one result per employee, in request order
+     */
+    List<BulkItemResultDto> updateEmployees(Iterable<EmployeeDto> employeeDtos);
+
     /**
      * Delete Employee by id
      * @param employeeId unique id to delete employee
+     * @param expectedVersion version the employee must still have, {@code null} to delete unconditionally
+     */
+    void deleteEmployee(Long employeeId, Long expectedVersion);
+
+    /**
+     * Delete employees in bulk
+     * @param employeeIds ids of the employees to delete
+     * @return one result per id, in request order
      */
-    void deleteEmployee(Long employeeId);
+    List<BulkItemResultDto> deleteEmployees(Iterable<Long> employeeIds);
+
+    /**
+     * Return the employees with the given ids
+     * @param employeeIds ids to look up, in the order the employees should be returned, repeated ids are answered
+     *                    as often as they are requested
+     * @return the employees found in request order and the ids without an employee
+     */
+    EmployeeBatchDto getEmployeesByIds(List<Long> employeeIds);
 
     /**
      * Return employees by page size
      * @param offset page number we want
      * @param pageSize size of pages
+     * @param total how the total number of employees should be obtained
      * @return page with content
      */
-    Page<EmployeeDto> getAllEmployeesWithPagination(int offset, int pageSize);
+    EmployeePageDto getAllEmployeesWithPagination(int offset, int pageSize, EmployeePageDto.Total total);
+
+    /**
+     * Return one window of employees using keyset (seek) pagination
+     * @param field field to sort by, {@code id} is always appended as a tiebreaker
+     * @param direction sort direction
+     * @param size maximum number of employees in the window
+     * @param token continuation token of the previous window, {@code null} for the first one
+     * @return window with content and the token of the next window
+     */
+    EmployeeWindowDto getAllEmployeesWithKeyset(String field, Sort.Direction direction, int size, String token);
 
     /**
-     * Return sorted List of employees
-     * @param field method use for sorting
-     * @return sorted elements
+     * Return one page of sorted employees
+     * @param fields comma separated sort keys, only whitelisted orderings are accepted
+     * @param direction direction applied to every key
+     * @param page page number we want
+     * @param size size of pages
+     * @return sorted elements of the requested page
      */
-    List<EmployeeDto> getAllEmployeesWithSorting(String field);
+    Slice<EmployeeDto> getAllEmployeesWithSorting(String fields, Sort.Direction direction, int page, int size);
 
     List<EmployeeDto> getAllEmployeesWithFilter(String email);
 
-}
+    /**
+     * Search employees by first name, last name and email
+     * @param criteria the criteria to match, blank criteria are ignored
+     * @param page page number we want
+     * @param size size of pages
+     * @return slice with the matching employees
+     */
+    Slice<EmployeeDto> searchEmployees(EmployeeSearchCriteria criteria, int page, int size);
 
+    /**
+     * Read employees together with their change counter, in one read-only transaction
+     * @param read receives the current value of the counter, which is bumped by every write, and reads the
+     *             employees with other methods of this service
+     * @return the result of the read
+     */
+    <T> T readWithChangeCount(LongFunction<T> read);
+}
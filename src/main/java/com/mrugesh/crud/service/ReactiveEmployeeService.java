@@ -0,0 +1,51 @@
+package com.mrugesh.crud.service;
+
+import com.mrugesh.crud.dto.EmployeeDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeService {
+
+    /**
+     * create employee service
+     * @param employeeDto the data transfer object containing employee details
+     * @return the created {@link EmployeeDto} with the assigned ID
+     */
+    Mono<EmployeeDto> createEmployee(EmployeeDto employeeDto);
+
+    /**
+     * get employee by id service
+     * @param employeeId the ID of the employee to retrieve
+     * @return the {@link EmployeeDto} corresponding to the employee with the given ID
+     */
+    Mono<EmployeeDto> getEmployeeById(Long employeeId);
+
+    /**
+     * stream all employees service
+     * @return all employees ordered by id, read from the database as the subscriber requests them
+     */
+    Flux<EmployeeDto> getAllEmployees();
+
+    /**
+     * stream employees with filter service
+     * @param email email id to match, all employees are returned when blank
+     * @return matching employees ordered by id, read from the database as the subscriber requests them
+     */
+    Flux<EmployeeDto> getAllEmployeesWithFilter(String email);
+
+    /**
+     * update employee service
+     * @param employeeId the ID of the employee to update
+     * @param updatedEmployee the new fields, with the expected version or {@code null} to update unconditionally
+     * @return the updated {@link EmployeeDto}
+     */
+    Mono<EmployeeDto> updateEmployee(Long employeeId, EmployeeDto updatedEmployee);
+
+    /**
+     * delete employee service
+     * @param employeeId the ID of the employee to delete
+     * @param expectedVersion version the employee must still have, {@code null} to delete unconditionally
+     * @return completes once the employee is deleted
+     */
+    Mono<Void> deleteEmployee(Long employeeId, Long expectedVersion);
+}
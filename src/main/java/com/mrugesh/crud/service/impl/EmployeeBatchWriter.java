@@ -0,0 +1,247 @@
+package com.mrugesh.crud.service.impl;
+
+import com.mrugesh.crud.config.CacheConfig;
+import com.mrugesh.crud.dto.BulkItemResultDto;
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.entity.Employee;
+import com.mrugesh.crud.event.EmployeesChangedEvent;
+import com.mrugesh.crud.mapper.EmployeeMapper;
+import com.mrugesh.crud.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Writes large sets of employees through JDBC batched statements.
+ *
+ * <p>Items are written in chunks of {@link #BATCH_SIZE}, each chunk in its own transaction that is flushed and
+ * cleared once written, so the persistence context never holds more than one chunk. When a chunk fails, for example
+ * because one row breaks the unique {@code email_id} constraint, the whole JDBC batch is rolled back and the chunk is
+ * replayed item by item to attribute the failure to the offending row only.</p>
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class EmployeeBatchWriter {
+
+    /**
+     * Number of items per transaction, aligned with {@code hibernate.jdbc.batch_size}.
+     */
+    static final int BATCH_SIZE = 50;
+
+    private static final String DELETE_BY_ID = "DELETE FROM employees WHERE id = ?";
+
+    private EmployeeRepository employeeRepository;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private CacheManager cacheManager;
+
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Creates employees in batches.
+     *
+     * @param employeeDtos the employees to create, any id or version they carry is ignored
+     * @return one result per item, in request order
+     */
+    public List<BulkItemResultDto> createEmployees(Iterable<EmployeeDto> employeeDtos) {
+        return writeInBatches(employeeDtos, employeeDto -> null, this::createChunk);
+    }
+
+    /**
+     * Updates employees in batches, loading every chunk with a single {@code IN} query.
+     *
+     * @param employeeDtos the employees to update, identified by their id
+     * @return one result per item, in request order
+     */
+    public List<BulkItemResultDto> updateEmployees(Iterable<EmployeeDto> employeeDtos) {
+        return writeInBatches(employeeDtos, EmployeeDto::getId, this::updateChunk);
+    }
+
+    /**
+     * Deletes employees in batches, with one JDBC batch of {@code DELETE ... WHERE id = ?} statements per chunk.
+     * Each item is reported deleted only when its own statement removed a row, so an employee deleted concurrently
+     * is reported not found rather than deleted twice.
+     *
+     * @param employeeIds the ids of the employees to delete
+     * @return one result per item, in request order
+     */
+    public List<BulkItemResultDto> deleteEmployees(Iterable<Long> employeeIds) {
+        return writeInBatches(employeeIds, Function.identity(), this::deleteChunk);
+    }
+
+    private List<BulkItemResultDto> createChunk(int offset, List<EmployeeDto> chunk) {
+        List<BulkItemResultDto> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Employee employee = EmployeeMapper.mapToEmployee(chunk.get(i));
+            employee.setId(null);
+            employee.setVersion(null);
+            Employee savedEmployee = employeeRepository.save(employee);
+            results.add(BulkItemResultDto.written(offset + i, BulkItemResultDto.Status.CREATED,
+                    EmployeeMapper.mapToEmployeeDto(savedEmployee)));
+        }
+        return results;
+    }
+
+    private List<BulkItemResultDto> updateChunk(int offset, List<EmployeeDto> chunk) {
+        List<Long> ids = chunk.stream().map(EmployeeDto::getId).filter(Objects::nonNull).toList();
+        Map<Long, Employee> employees = new HashMap<>();
+        employeeRepository.findAllById(ids).forEach(employee -> employees.put(employee.getId(), employee));
+
+        BulkItemResultDto[] results = new BulkItemResultDto[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            EmployeeDto updatedEmployee = chunk.get(i);
+            Long id = updatedEmployee.getId();
+            Employee employee = id == null ? null : employees.get(id);
+            if (id == null) {
+                results[i] = BulkItemResultDto.failed(offset + i, null, BulkItemResultDto.Failure.INVALID,
+                        "Employee id is required");
+            } else if (employee == null) {
+                results[i] = BulkItemResultDto.of(offset + i, id, BulkItemResultDto.Status.NOT_FOUND);
+            } else if (updatedEmployee.getVersion() != null && !updatedEmployee.getVersion().equals(employee.getVersion())) {
+                results[i] = BulkItemResultDto.failed(offset + i, id, BulkItemResultDto.Failure.CONFLICT,
+                        "Employee has been modified since version " + updatedEmployee.getVersion());
+            } else {
+                employee.setFirstname(updatedEmployee.getFirstName());
+                employee.setLastname(updatedEmployee.getLastName());
+                employee.setEmail(updatedEmployee.getEmail());
+            }
+        }
+        // versions are only incremented on flush, map the written employees afterwards
+        entityManager.flush();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (results[i] == null) {
+                results[i] = BulkItemResultDto.written(offset + i, BulkItemResultDto.Status.UPDATED,
+                        EmployeeMapper.mapToEmployeeDto(employees.get(chunk.get(i).getId())));
+            }
+        }
+        return List.of(results);
+    }
+
+    private List<BulkItemResultDto> deleteChunk(int offset, List<Long> chunk) {
+        List<Long> ids = chunk.stream().filter(Objects::nonNull).toList();
+        // one row count per id, in the order of the ids
+        int[][] deleted = jdbcTemplate.batchUpdate(DELETE_BY_ID, ids, ids.size(), (ps, id) -> ps.setLong(1, id));
+
+        List<BulkItemResultDto> results = new ArrayList<>(chunk.size());
+        int next = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            Long id = chunk.get(i);
+            if (id == null) {
+                results.add(BulkItemResultDto.failed(offset + i, null, BulkItemResultDto.Failure.INVALID,
+                        "Employee id is required"));
+            } else {
+                results.add(BulkItemResultDto.of(offset + i, id, deleted[0][next++] > 0
+                        ? BulkItemResultDto.Status.DELETED
+                        : BulkItemResultDto.Status.NOT_FOUND));
+            }
+        }
+        return results;
+    }
+
+    private <T> List<BulkItemResultDto> writeInBatches(Iterable<T> items, Function<T, Long> idOf, ChunkWriter<T> chunkWriter) {
+        List<BulkItemResultDto> results = new ArrayList<>();
+        List<T> chunk = new ArrayList<>(BATCH_SIZE);
+        int offset = 0;
+        for (T item : items) {
+            chunk.add(item);
+            if (chunk.size() == BATCH_SIZE) {
+                results.addAll(writeChunk(offset, chunk, idOf, chunkWriter));
+                offset += chunk.size();
+                chunk = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(writeChunk(offset, chunk, idOf, chunkWriter));
+        }
+        return results;
+    }
+
+    private <T> List<BulkItemResultDto> writeChunk(int offset, List<T> chunk, Function<T, Long> idOf, ChunkWriter<T> chunkWriter) {
+        List<BulkItemResultDto> results;
+        try {
+            results = transactionTemplate.execute(status -> {
+                List<BulkItemResultDto> chunkResults = chunkWriter.write(offset, chunk);
+                entityManager.flush();
+                entityManager.clear();
+                publishWritten(chunkResults);
+                return chunkResults;
+            });
+        } catch (RuntimeException ex) {
+            if (chunk.size() == 1) {
+                return List.of(failed(offset, idOf.apply(chunk.get(0)), ex));
+            }
+            // a single bad row fails the whole JDBC batch, so replay the chunk item by item to isolate it
+            results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                results.addAll(writeChunk(offset + i, chunk.subList(i, i + 1), idOf, chunkWriter));
+            }
+            return results;
+        }
+        evictWritten(results);
+        return results;
+    }
+
+    // the cause is logged, the item only gets a message that does not leak database details
+    private static BulkItemResultDto failed(int index, Long id, RuntimeException ex) {
+        BulkItemResultDto.Failure failure = EmployeeWriteFailures.classify(ex);
+        if (failure == BulkItemResultDto.Failure.CONFLICT || failure == BulkItemResultDto.Failure.INVALID) {
+            log.debug("Bulk item {} (employee id {}) was rejected", index, id, ex);
+        } else {
+            log.warn("Bulk item {} (employee id {}) could not be written", index, id, ex);
+        }
+        return BulkItemResultDto.failed(index, id, failure, EmployeeWriteFailures.describe(ex));
+    }
+
+    private void publishWritten(List<BulkItemResultDto> results) {
+        List<Long> writtenIds = results.stream()
+                .filter(result -> result.getStatus() == BulkItemResultDto.Status.CREATED
+                        || result.getStatus() == BulkItemResultDto.Status.UPDATED
+                        || result.getStatus() == BulkItemResultDto.Status.DELETED)
+                .map(BulkItemResultDto::getId)
+                .toList();
+        if (!writtenIds.isEmpty()) {
+            // delivered to @TransactionalEventListener once the chunk has committed
+            applicationEventPublisher.publishEvent(new EmployeesChangedEvent(writtenIds));
+        }
+    }
+
+    private void evictWritten(List<BulkItemResultDto> results) {
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        if (cache != null) {
+            for (BulkItemResultDto result : results) {
+                if (result.getStatus() == BulkItemResultDto.Status.UPDATED || result.getStatus() == BulkItemResultDto.Status.DELETED) {
+                    cache.evict(result.getId());
+                }
+            }
+        }
+        Cache countCache = cacheManager.getCache(CacheConfig.EMPLOYEE_COUNT_CACHE);
+        if (countCache != null && results.stream().anyMatch(result -> result.getStatus() == BulkItemResultDto.Status.CREATED
+                || result.getStatus() == BulkItemResultDto.Status.DELETED)) {
+            countCache.clear();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        List<BulkItemResultDto> write(int offset, List<T> chunk);
+    }
+}
@@ -0,0 +1,77 @@
+package com.mrugesh.crud.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Deletes old changes from the {@code employee_changes} outbox, so it does not grow with every write forever.
+ *
+ * <p>A run deletes the oldest numbered changes in position order, up to the last one among them written before a
+ * cutoff; positions follow commits, so a change numbered earlier may be slightly younger. The last numbered change
+ * is never deleted: the change counter adds up the last position, so it would go back without it. Changes without
+ * a position are left to the {@link EmployeeChangeSequencer}. The highest position deleted is kept in
+ * {@code employee_changes_retention} and raised in the same transaction (see {@code V6__change_feed_retention.sql}),
+ * consumers resuming below it are told to resync instead of silently skipping the deleted changes. Runs of several
+ * instances may overlap, they delete the same rows.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeChangePruner {
+
+    // the highest position among the oldest numbered changes that were written before the cutoff
+    private static final String FIND_PRUNABLE = """
+            SELECT max(oldest.seq)
+              FROM (SELECT seq, changed_at FROM employee_changes WHERE seq IS NOT NULL ORDER BY seq LIMIT ?) oldest
+             WHERE oldest.changed_at < ?
+               AND oldest.seq < (SELECT max(seq) FROM employee_changes)
+            """;
+
+    private static final String DELETE_THROUGH = "DELETE FROM employee_changes WHERE seq <= ?";
+
+    private static final String RAISE_PRUNED_THROUGH =
+            "UPDATE employee_changes_retention SET pruned_through = greatest(pruned_through, ?) WHERE id = 1";
+
+    private static final String FIND_PRUNED_THROUGH = "SELECT pruned_through FROM employee_changes_retention WHERE id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Deletes up to {@code limit} of the oldest numbered changes written before {@code cutoff}.
+     *
+     * @param cutoff changes written before this instant may be deleted
+     * @param limit the maximum number of changes deleted by this run
+     * @return the number of changes deleted, less than {@code limit} once no old change is left
+     */
+    public int prune(Instant cutoff, int limit) {
+        Integer pruned = transactionTemplate.execute(status -> {
+            Long through = jdbcTemplate.queryForObject(FIND_PRUNABLE, Long.class, limit,
+                    OffsetDateTime.ofInstant(cutoff, ZoneOffset.UTC));
+            if (through == null) {
+                return 0;
+            }
+            int deleted = jdbcTemplate.update(DELETE_THROUGH, through);
+            jdbcTemplate.update(RAISE_PRUNED_THROUGH, through);
+            return deleted;
+        });
+        return pruned == null ? 0 : pruned;
+    }
+
+    /**
+     * Reads the highest position deleted so far. A consumer that read changes and then finds its position below
+     * the mark may have missed some of them.
+     *
+     * @return the highest position deleted, {@code 0} if nothing was deleted yet
+     */
+    public long getPrunedThrough() {
+        Long prunedThrough = jdbcTemplate.queryForObject(FIND_PRUNED_THROUGH, Long.class);
+        return prunedThrough == null ? 0 : prunedThrough;
+    }
+}
@@ -0,0 +1,72 @@
+package com.mrugesh.crud.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Assigns the feed positions of committed changes in the {@code employee_changes} outbox.
+ *
+ * <p>The trigger on {@code employees} appends changes with an id drawn from a sequence and no position, so
+ * writers never wait for each other (see {@code V4__change_feed_sequencer.sql}). A run numbers the committed
+ * changes without a position in id order. Runs are serialized across instances by a transaction-level advisory
+ * lock, an instance that does not get it leaves the work to the one holding it. Positions therefore become
+ * visible in increasing order: a consumer that has read up to a position never misses a change numbered
+ * below it later. Gaps are possible, they only come from rolled back runs.</p>
+ *
+ * <p>Other databases have no outbox trigger, runs do nothing there.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeChangeSequencer {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    // shared by every instance working on the same database
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_xact_lock(hashtext('employee_changes'))";
+
+    // the ids are sorted before nextval is evaluated, so positions follow the ids
+    private static final String ASSIGN_POSITIONS = """
+            UPDATE employee_changes c
+               SET seq = positions.seq
+              FROM (SELECT pending.id, nextval('employee_changes_seq') AS seq
+                      FROM (SELECT id FROM employee_changes WHERE seq IS NULL ORDER BY id LIMIT ?) pending
+                   ) positions
+             WHERE c.id = positions.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Boolean postgres;
+
+    /**
+     * Numbers up to {@code limit} committed changes that have no position yet, in the order they were written.
+     *
+     * @param limit the maximum number of changes numbered by this run
+     * @return the number of changes numbered, {@code 0} when another instance is running
+     */
+    public int assignPositions(int limit) {
+        if (!isPostgres()) {
+            return 0;
+        }
+        Integer assigned = transactionTemplate.execute(status ->
+                Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK, Boolean.class))
+                        ? jdbcTemplate.update(ASSIGN_POSITIONS, limit)
+                        : 0);
+        return assigned == null ? 0 : assigned;
+    }
+
+    private boolean isPostgres() {
+        Boolean current = postgres;
+        if (current == null) {
+            current = POSTGRESQL.equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName()));
+            postgres = current;
+        }
+        return current;
+    }
+}
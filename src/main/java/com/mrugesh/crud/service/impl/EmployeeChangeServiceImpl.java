@@ -0,0 +1,339 @@
+package com.mrugesh.crud.service.impl;
+
+import com.mrugesh.crud.config.ChangeFeedProperties;
+import com.mrugesh.crud.dto.EmployeeChangeBatchDto;
+import com.mrugesh.crud.entity.EmployeeChange;
+import com.mrugesh.crud.event.EmployeesChangedEvent;
+import com.mrugesh.crud.exception.InvalidRequestException;
+import com.mrugesh.crud.mapper.EmployeeChangeMapper;
+import com.mrugesh.crud.repository.EmployeeChangeRepository;
+import com.mrugesh.crud.service.EmployeeChangeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Implementation of the {@link EmployeeChangeService} interface on top of the {@code employee_changes} outbox.
+ *
+ * <p>Waiting consumers, long polls and streams alike, are held as subscriptions and cost nothing while the
+ * employees do not change. A commit publishes an {@link EmployeesChangedEvent}; after a short linger, so that a burst
+ * of commits is read as one batch, every subscription is served on its own virtual thread. Subscriptions waiting at
+ * the same position share one outbox query. The outbox is also read every poll interval, which picks up writes made
+ * by other instances.</p>
+ *
+ * <p>Changes become readable once the {@link EmployeeChangeSequencer} has given them a position, which happens
+ * on the same schedule: after the linger following a local commit, and every poll interval.</p>
+ *
+ * <p>Changes older than the retention are deleted every prune interval by the {@link EmployeeChangePruner}. A
+ * consumer whose position falls below the deleted ones gets an empty batch flagged {@code resync}, positioned at
+ * the end of the feed, instead of the changes following the gap.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeChangeServiceImpl implements EmployeeChangeService, SmartLifecycle {
+
+    // batches deleted per prune interval at most, so a large backlog does not hold up the deliveries
+    private static final int MAX_PRUNE_RUNS = 100;
+
+    private final EmployeeChangeRepository employeeChangeRepository;
+
+    private final EmployeeChangeSequencer employeeChangeSequencer;
+
+    private final EmployeeChangePruner employeeChangePruner;
+
+    private final ChangeFeedProperties changeFeedProperties;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean wakeUpScheduled = new AtomicBoolean();
+
+    private volatile ScheduledExecutorService scheduler;
+
+    private volatile ExecutorService deliveries;
+
+    /**
+     * Return the changes following a position of the feed, without waiting
+     *
+     * <p>Reads at most {@code limit} changes with a range scan of the outbox index on positions, so the cost follows
+     * the number of changes and not the size of the employees table.</p>
+     * @param after the last sequence number the consumer has seen, {@code 0} to start from the beginning
+     * @param limit maximum number of changes read for the batch
+     * @return the coalesced batch, empty when the consumer is up to date, flagged {@code resync} when changes
+     *         following the position were deleted
+     * @throws InvalidRequestException if the position or the limit is not acceptable
+     */
+    @Override
+    public EmployeeChangeBatchDto getChanges(long after, int limit) {
+        validate(after, limit);
+        return toBatch(read(after, limit), after);
+    }
+
+    /**
+     * Wait for the changes following a position of the feed (long polling)
+     *
+     * <p>No thread is blocked while waiting, the returned future is completed by the delivery of the next batch or
+     * by the timeout.</p>
+     * @param after the last sequence number the consumer has seen
+     * @param limit maximum number of changes read for the batch
+     * @param timeout how long to wait when the consumer is up to date
+     * @return completes with the next batch as soon as there is one, or with an empty batch after the timeout
+     * @throws InvalidRequestException if the position or the limit is not acceptable
+     */
+    @Override
+    public CompletableFuture<EmployeeChangeBatchDto> pollChanges(long after, int limit, Duration timeout) {
+        validate(after, limit);
+        CompletableFuture<EmployeeChangeBatchDto> batch = new CompletableFuture<>();
+        Runnable cancel = subscribe(after, limit, changes -> {
+            batch.complete(changes);
+            return false;
+        });
+        batch.completeOnTimeout(EmployeeChangeMapper.mapToEmployeeChangeBatchDto(List.of(), after),
+                timeout.toMillis(), TimeUnit.MILLISECONDS);
+        batch.whenComplete((changes, ex) -> cancel.run());
+        return batch;
+    }
+
+    /**
+     * Push every batch following a position of the feed to a listener
+     * @param after the last sequence number the consumer has seen
+     * @param listener receives the batches in order, returns {@code false} to stop
+     * @return cancels the subscription
+     * @throws InvalidRequestException if the position is not acceptable
+     */
+    @Override
+    public Runnable subscribe(long after, Predicate<EmployeeChangeBatchDto> listener) {
+        validate(after, changeFeedProperties.getMaxBatchSize());
+        return subscribe(after, changeFeedProperties.getMaxBatchSize(), listener);
+    }
+
+    /**
+     * Wakes the subscriptions once the writing transaction has committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesChanged(EmployeesChangedEvent event) {
+        ScheduledExecutorService currentScheduler = scheduler;
+        if (currentScheduler != null && wakeUpScheduled.compareAndSet(false, true)) {
+            currentScheduler.schedule(() -> {
+                wakeUpScheduled.set(false);
+                wakeUp();
+            }, changeFeedProperties.getLinger().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void start() {
+        deliveries = Executors.newVirtualThreadPerTaskExecutor();
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("change-feed").daemon().factory());
+        long pollInterval = changeFeedProperties.getPollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::wakeUp, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+        long pruneInterval = changeFeedProperties.getPruneInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::prune, pruneInterval, pruneInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        subscriptions.forEach(Subscription::cancel);
+        subscriptions.clear();
+        scheduler.shutdownNow();
+        deliveries.shutdownNow();
+        scheduler = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private Runnable subscribe(long after, int limit, Predicate<EmployeeChangeBatchDto> listener) {
+        ExecutorService currentDeliveries = deliveries;
+        if (currentDeliveries == null) {
+            throw new IllegalStateException("The change feed is not running");
+        }
+        Subscription subscription = new Subscription(after, limit, listener);
+        subscriptions.add(subscription);
+        // the consumer may already be behind, serve it right away
+        currentDeliveries.execute(() -> deliver(subscription, null));
+        return () -> {
+            subscription.cancel();
+            subscriptions.remove(subscription);
+        };
+    }
+
+    private void wakeUp() {
+        ExecutorService currentDeliveries = deliveries;
+        if (currentDeliveries == null) {
+            return;
+        }
+        // positions are assigned even without subscriptions, for consumers reading without waiting
+        assignPositions();
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        Map<Long, CompletableFuture<List<EmployeeChange>>> sharedReads = new ConcurrentHashMap<>();
+        for (Subscription subscription : subscriptions) {
+            currentDeliveries.execute(() -> deliver(subscription, sharedReads));
+        }
+    }
+
+    private void assignPositions() {
+        int limit = changeFeedProperties.getMaxBatchSize();
+        try {
+            // a backlog, e.g. after a bulk write, is numbered in runs of one batch
+            int assigned;
+            do {
+                assigned = employeeChangeSequencer.assignPositions(limit);
+            } while (assigned == limit);
+        } catch (RuntimeException ex) {
+            log.warn("Could not assign positions to employee changes, retrying on the next poll", ex);
+        }
+    }
+
+    private void prune() {
+        int limit = changeFeedProperties.getMaxBatchSize();
+        Instant cutoff = Instant.now().minus(changeFeedProperties.getRetention());
+        try {
+            int runs = 0;
+            int pruned;
+            do {
+                pruned = employeeChangePruner.prune(cutoff, limit);
+            } while (pruned == limit && ++runs < MAX_PRUNE_RUNS);
+        } catch (RuntimeException ex) {
+            log.warn("Could not delete old employee changes, retrying on the next prune interval", ex);
+        }
+    }
+
+    private void deliver(Subscription subscription, Map<Long, CompletableFuture<List<EmployeeChange>>> sharedReads) {
+        if (!subscription.delivering.compareAndSet(false, true)) {
+            // the running delivery reads again before it returns
+            subscription.missed = true;
+            return;
+        }
+        try {
+            do {
+                subscription.missed = false;
+                drain(subscription, sharedReads);
+                sharedReads = null;
+            } while (subscription.missed && subscription.active);
+        } catch (RuntimeException ex) {
+            log.warn("Could not read the employee change feed, retrying on the next poll", ex);
+        } finally {
+            subscription.delivering.set(false);
+        }
+    }
+
+    private void drain(Subscription subscription, Map<Long, CompletableFuture<List<EmployeeChange>>> sharedReads) {
+        int maxBatchSize = changeFeedProperties.getMaxBatchSize();
+        while (subscription.active) {
+            List<EmployeeChange> changes = sharedReads == null
+                    ? read(subscription.after, maxBatchSize)
+                    : read(subscription.after, sharedReads);
+            sharedReads = null;
+            if (changes.isEmpty()) {
+                return;
+            }
+            List<EmployeeChange> batch = changes.subList(0, Math.min(subscription.limit, changes.size()));
+            EmployeeChangeBatchDto batchDto = toBatch(batch, subscription.after);
+            subscription.after = batchDto.getNextSeq();
+            if (!accept(subscription, batchDto)) {
+                subscription.cancel();
+                subscriptions.remove(subscription);
+                return;
+            }
+            // after a resync the subscription goes on from the end of the feed
+            if (!batchDto.isResync() && batch.size() == changes.size() && changes.size() < maxBatchSize) {
+                return;
+            }
+        }
+    }
+
+    private static boolean accept(Subscription subscription, EmployeeChangeBatchDto batch) {
+        try {
+            return subscription.listener.test(batch);
+        } catch (RuntimeException ex) {
+            log.debug("Change feed listener failed, dropping its subscription", ex);
+            return false;
+        }
+    }
+
+    private List<EmployeeChange> read(long after, Map<Long, CompletableFuture<List<EmployeeChange>>> sharedReads) {
+        CompletableFuture<List<EmployeeChange>> read = new CompletableFuture<>();
+        CompletableFuture<List<EmployeeChange>> sharedRead = sharedReads.putIfAbsent(after, read);
+        if (sharedRead != null) {
+            return sharedRead.join();
+        }
+        try {
+            read.complete(read(after, changeFeedProperties.getMaxBatchSize()));
+        } catch (RuntimeException ex) {
+            read.completeExceptionally(ex);
+        }
+        return read.join();
+    }
+
+    private List<EmployeeChange> read(long after, int limit) {
+        return employeeChangeRepository.findBySeqGreaterThanOrderBySeqAsc(after, Limit.of(limit));
+    }
+
+    /**
+     * Maps changes read after a position to a batch, or to a resync batch when some of the changes following the
+     * position were deleted. The mark is read after the changes: a run deleting changes the read missed has raised
+     * it by then. Only reads that found changes are checked, the last numbered change is never deleted.
+     */
+    private EmployeeChangeBatchDto toBatch(List<EmployeeChange> changes, long after) {
+        if (!changes.isEmpty() && after < employeeChangePruner.getPrunedThrough()) {
+            return EmployeeChangeMapper.mapToResyncBatchDto(employeeChangeRepository.findLastSeq());
+        }
+        return EmployeeChangeMapper.mapToEmployeeChangeBatchDto(changes, after);
+    }
+
+    private void validate(long after, int limit) {
+        if (after < 0) {
+            throw new InvalidRequestException("after must not be negative");
+        }
+        if (limit < 1 || limit > changeFeedProperties.getMaxBatchSize()) {
+            throw new InvalidRequestException("limit must be between 1 and " + changeFeedProperties.getMaxBatchSize());
+        }
+    }
+
+    private static final class Subscription {
+
+        private volatile long after;
+
+        private final int limit;
+
+        private final Predicate<EmployeeChangeBatchDto> listener;
+
+        private final AtomicBoolean delivering = new AtomicBoolean();
+
+        private volatile boolean missed;
+
+        private volatile boolean active = true;
+
+        private Subscription(long after, int limit, Predicate<EmployeeChangeBatchDto> listener) {
+            this.after = after;
+            this.limit = limit;
+            this.listener = listener;
+        }
+
+        private void cancel() {
+            active = false;
+        }
+    }
+}
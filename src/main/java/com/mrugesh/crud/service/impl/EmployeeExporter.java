@@ -0,0 +1,285 @@
+package com.mrugesh.crud.service.impl;
+
+import com.mrugesh.crud.aspect.RepositoryBulkheadAspect;
+import com.mrugesh.crud.config.ExportProperties;
+import com.mrugesh.crud.datasource.ReplicaPools;
+import com.mrugesh.crud.dto.EmployeeDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Reads every employee for the export, one partition per connection.
+ *
+ * <p>On Postgres the export opens a read-only repeatable read transaction, exports its snapshot with
+ * {@code pg_export_snapshot()} and hands the partitions of {@code employees} to up to
+ * {@code crud.export.parallelism} readers. Every reader imports the snapshot into a transaction of its own, so
+ * together they see exactly the rows a single transaction would, while the partitions are scanned side by side.
+ * Rows reach the consumer on the calling thread through a bounded buffer: a slow client holds the readers back
+ * instead of filling the heap. Rows of different partitions are interleaved, there is no overall order.</p>
+ *
+ * <p>Other databases, and tables without partitions, are read in one transaction on one connection.</p>
+ *
+ * <p>All connections of an export come from one database, since a snapshot can only be imported where it was
+ * exported: a healthy replica when reads are routed to replicas, the primary while the client is pinned to it
+ * after a write. The export runs on the async executor, where the read-your-writes context of the request is no
+ * longer bound, so the caller decides on the request thread whether the client is pinned. The reader connections come on top of the one the service call holds. With the bulkhead enabled
+ * each of them takes a permit, so the pool is never asked for more connections than there are permits; without
+ * it, only one export at a time reads in parallel. Readers never wait for a permit, an export that gets none
+ * reads the partitions one after the other on its own connection.</p>
+ *
+ * <p>The snapshot, the reader connections and the permits are held while the client receives the rows, so an
+ * export is bounded by {@code crud.export.timeout}: past it the readers stop waiting for the client and the export
+ * fails, closing every connection and handing back every permit. A client that goes away makes the next write
+ * fail, which ends the export the same way, and a client that stops reading is cut off by the write timeout of
+ * the connector.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeExporter {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private static final String SELECT_EMPLOYEES = "SELECT id, first_name, last_name, email_id, version FROM ";
+
+    private static final String SELECT_PARTITIONS = """
+            SELECT CAST(CAST(inhrelid AS regclass) AS text)
+              FROM pg_inherits
+             WHERE inhparent = CAST('employees' AS regclass)
+             ORDER BY 1
+            """;
+
+    private static final Pattern SNAPSHOT_ID = Pattern.compile("[0-9A-Fa-f-]+");
+
+    private static final SQLExceptionTranslator EXCEPTION_TRANSLATOR = new SQLStateSQLExceptionTranslator();
+
+    // queued by a reader once it has no partition left
+    private static final Object READER_DONE = new Object();
+
+    private final DataSource dataSource;
+
+    private final ExportProperties exportProperties;
+
+    private final ObjectProvider<ReplicaPools> replicaPools;
+
+    private final ObjectProvider<RepositoryBulkheadAspect> bulkhead;
+
+    // without the bulkhead, held by the one export reading in parallel
+    private final Semaphore parallelExport = new Semaphore(1);
+
+    /**
+     * Hands every employee to the consumer, from one consistent snapshot of the table.
+     *
+     * @param pinnedToPrimary whether the client has to read from the primary
+     * @param consumer callback invoked for every employee on the calling thread
+     */
+    public void exportAllEmployees(boolean pinnedToPrimary, Consumer<EmployeeDto> consumer) {
+        long deadline = System.nanoTime() + exportProperties.getTimeout().toNanos();
+        DataSource source = readDataSource(pinnedToPrimary);
+        try (Connection connection = source.getConnection()) {
+            beginSnapshot(connection);
+            List<String> partitions = POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName())
+                    ? queryStrings(connection, SELECT_PARTITIONS)
+                    : List.of();
+            int readers = acquireReaders(Math.min(exportProperties.getParallelism(), partitions.size()));
+            try {
+                if (readers == 0) {
+                    readTable(connection, "employees", employee -> {
+                        checkDeadline(deadline);
+                        consumer.accept(employee);
+                    });
+                } else {
+                    String snapshot = queryStrings(connection, "SELECT pg_export_snapshot()").get(0);
+                    readPartitions(source, snapshot, partitions, readers, deadline, consumer);
+                }
+            } finally {
+                releaseReaders(readers);
+            }
+            // the exported snapshot stays valid until here
+            connection.commit();
+        } catch (SQLException ex) {
+            throw EXCEPTION_TRANSLATOR.translate("Export employees", null, ex);
+        }
+    }
+
+    private DataSource readDataSource(boolean pinnedToPrimary) {
+        ReplicaPools pools = replicaPools.getIfAvailable();
+        if (pools == null) {
+            return dataSource;
+        }
+        if (pinnedToPrimary) {
+            return pools.getPrimary();
+        }
+        return pools.nextHealthyReplica().map(pools.getReplicas()::get).orElse(pools.getPrimary());
+    }
+
+    /**
+     * @return the number of reader connections the export may open, {@code 0} to read on its own connection
+     */
+    private int acquireReaders(int wanted) {
+        if (wanted < 2) {
+            return 0;
+        }
+        RepositoryBulkheadAspect permits = bulkhead.getIfAvailable();
+        if (permits == null) {
+            return parallelExport.tryAcquire() ? wanted : 0;
+        }
+        int acquired = permits.tryAcquire(wanted);
+        if (acquired < 2) {
+            // a single reader would only add a connection
+            permits.release(acquired);
+            return 0;
+        }
+        return acquired;
+    }
+
+    private void releaseReaders(int readers) {
+        if (readers == 0) {
+            return;
+        }
+        RepositoryBulkheadAspect permits = bulkhead.getIfAvailable();
+        if (permits == null) {
+            parallelExport.release();
+        } else {
+            permits.release(readers);
+        }
+    }
+
+    private void readPartitions(DataSource source, String snapshot, List<String> partitions, int readers,
+                                long deadline, Consumer<EmployeeDto> consumer) throws SQLException {
+        Queue<String> pending = new ConcurrentLinkedQueue<>(partitions);
+        BlockingQueue<Object> rows = new ArrayBlockingQueue<>(exportProperties.getBufferSize());
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (int i = 0; i < readers; i++) {
+                executor.execute(() -> readPending(source, snapshot, pending, rows, deadline));
+            }
+            for (int running = readers; running > 0; ) {
+                Object row = rows.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (row == null) {
+                    throw exportTimedOut();
+                } else if (row == READER_DONE) {
+                    running--;
+                } else if (row instanceof SQLException ex) {
+                    throw ex;
+                } else if (row instanceof RuntimeException ex) {
+                    throw ex;
+                } else {
+                    consumer.accept((EmployeeDto) row);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while exporting employees", ex);
+        } finally {
+            // readers still running wait on the full buffer, the interrupt ends them
+            executor.shutdownNow();
+            executor.close();
+        }
+    }
+
+    private void readPending(DataSource source, String snapshot, Queue<String> pending, BlockingQueue<Object> rows,
+                             long deadline) {
+        try {
+            try (Connection connection = source.getConnection()) {
+                beginSnapshot(connection);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET TRANSACTION SNAPSHOT '" + checkSnapshotId(snapshot) + "'");
+                }
+                for (String partition = pending.poll(); partition != null; partition = pending.poll()) {
+                    readTable(connection, partition, employee -> put(rows, employee, deadline));
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException ex) {
+                rows.put(ex);
+                return;
+            }
+            rows.put(READER_DONE);
+        } catch (InterruptedException ex) {
+            // the export was abandoned
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void readTable(Connection connection, String table, Consumer<EmployeeDto> consumer) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_EMPLOYEES + table)) {
+            // a fetch size only opens a cursor inside a transaction, which beginSnapshot has started
+            statement.setFetchSize(exportProperties.getFetchSize());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    consumer.accept(new EmployeeDto(resultSet.getLong(1), resultSet.getString(2),
+                            resultSet.getString(3), resultSet.getString(4), resultSet.getLong(5)));
+                }
+            }
+        }
+    }
+
+    private static void beginSnapshot(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        connection.setReadOnly(true);
+        connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+    }
+
+    private static List<String> queryStrings(Connection connection, String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                values.add(resultSet.getString(1));
+            }
+        }
+        return values;
+    }
+
+    private static String checkSnapshotId(String snapshot) {
+        if (!SNAPSHOT_ID.matcher(snapshot).matches()) {
+            throw new IllegalStateException("Unexpected snapshot id " + snapshot);
+        }
+        return snapshot;
+    }
+
+    private void checkDeadline(long deadline) {
+        if (System.nanoTime() - deadline > 0) {
+            throw exportTimedOut();
+        }
+    }
+
+    private IllegalStateException exportTimedOut() {
+        return new IllegalStateException("Export of employees took longer than " + exportProperties.getTimeout());
+    }
+
+    /**
+     * Hands a row to the client thread, giving up at the deadline: a reader waiting for a stalled client would
+     * hold its connection.
+     */
+    private void put(BlockingQueue<Object> rows, EmployeeDto employee, long deadline) {
+        try {
+            if (!rows.offer(employee, deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw exportTimedOut();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while exporting employees", ex);
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package com.mrugesh.crud.service.impl;
+
+import com.mrugesh.crud.config.ReadModelProperties;
+import com.mrugesh.crud.dto.EmployeeChangeBatchDto;
+import com.mrugesh.crud.dto.EmployeeChangeDto;
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.entity.EmployeeChange;
+import com.mrugesh.crud.repository.EmployeeChangeRepository;
+import com.mrugesh.crud.repository.EmployeeRepository;
+import com.mrugesh.crud.service.EmployeeChangeService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the whole employees table in an {@link EmployeeStore} when {@code crud.read-model.enabled} is set, so
+ * {@link EmployeeServiceImpl} can answer lookups, sorted pages and email searches without a database round trip.
+ *
+ * <p>The table is read once at startup through a cursor and kept current from three sources: the single employee
+ * writes of {@link EmployeeServiceImpl}, applied as soon as they commit, the change feed, which carries bulk writes
+ * and the writes of other instances, and a full reload every reconcile interval, which repairs anything the feed
+ * missed, such as rows copied in with its trigger disabled. Versions keep the sources from undoing each other.</p>
+ *
+ * <p>Until the first load has completed, and whenever the read model is disabled, {@link #getStore()} returns
+ * {@code null} and reads go to the database. It does the same within a read labelled with the change counter
+ * that the store has not caught up with, see {@link #readAt}.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeReadModel implements SmartLifecycle, MeterBinder {
+
+    // libc locales of Postgres comparing text by code point, like the store
+    private static final Set<String> CODE_POINT_LOCALES = Set.of("C", "POSIX", "C.UTF-8", "C.utf8");
+
+    // the provider column only exists from Postgres 15 on, ICU collations ignore datcollate
+    private static final String DATABASE_LOCALE = """
+            SELECT datcollate AS locale, to_jsonb(d) ->> 'datlocprovider' AS provider
+              FROM pg_database d
+             WHERE datname = current_database()
+            """;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final EmployeeChangeRepository employeeChangeRepository;
+
+    private final EmployeeChangeService employeeChangeService;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReadModelProperties readModelProperties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // serializes the writes to the stores, reads do not take it
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile EmployeeStore store;
+
+    // writes seen while a reload reads the table, replayed onto the new store; guarded by writeLock
+    private List<EmployeeDto> replayedUpserts;
+
+    private List<Long> replayedDeletes;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    private volatile Runnable changeFeedSubscription;
+
+    // last feed position applied to the store, and the counter row when the store was read
+    private volatile long appliedSeq;
+
+    private volatile long loadedBase = -1;
+
+    // feed batches that could not be applied, and how many of them the last reload repaired
+    private volatile long failedBatches;
+
+    private volatile long repairedBatches;
+
+    // set while a labelled read runs on a store that is behind its label
+    private final ThreadLocal<Boolean> storeWithheld = new ThreadLocal<>();
+
+    private volatile Boolean textOrderShared;
+
+    /**
+     * @return the loaded store, {@code null} while the read model is disabled or still loading, or while a read
+     * labelled with a change counter the store is behind runs on this thread
+     */
+    EmployeeStore getStore() {
+        return Boolean.TRUE.equals(storeWithheld.get()) ? null : store;
+    }
+
+    /**
+     * Tells whether the store orders text like the database, by code point with {@code null} last. Orderings on
+     * names or emails are only served from the store then: pages of a listing read partly from the store and
+     * partly from the database would otherwise skip or repeat employees.
+     *
+     * <p>That is the case for Postgres databases created with the {@code C} or {@code POSIX} locale, and for H2
+     * with the {@code DEFAULT_NULL_ORDERING=HIGH} of the test and benchmark profiles, which compares strings by
+     * UTF-16 code units: the same order except between supplementary characters and {@code U+E000} to
+     * {@code U+FFFF}.</p>
+     *
+     * @return whether text orderings may be served from the store
+     */
+    boolean isTextOrderShared() {
+        Boolean shared = textOrderShared;
+        if (shared == null) {
+            shared = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                String product = connection.getMetaData().getDatabaseProductName();
+                if (!"PostgreSQL".equals(product)) {
+                    return "H2".equals(product);
+                }
+                try (Statement statement = connection.createStatement();
+                     ResultSet locale = statement.executeQuery(DATABASE_LOCALE)) {
+                    return locale.next() && !"i".equals(locale.getString("provider"))
+                            && CODE_POINT_LOCALES.contains(locale.getString("locale"));
+                }
+            }));
+            textOrderShared = shared;
+        }
+        return shared;
+    }
+
+    /**
+     * Runs a read whose result is labelled with the change counter, such as a collection ETag, and keeps it on the
+     * database unless the store holds every change counted. Content older than its label would be revalidated
+     * with 304 once the store had caught up, and kept by the client until the next write.
+     *
+     * <p>The store has caught up when the feed has no change waiting for a position, every position up to the
+     * last one has been applied, no bulk load bypassed the feed since the store was read, and the sorted indexes
+     * hold every write.</p>
+     *
+     * @param changeCount the counter the result is labelled with, read before the store is checked
+     * @param read the read, calling {@link #getStore()}
+     * @return the result of the read
+     */
+    <T> T readAt(EmployeeRepository.ChangeCount changeCount, Supplier<T> read) {
+        EmployeeStore current = store;
+        boolean caughtUp = current != null && current.isIndexed()
+                && changeCount.getPending() == 0
+                && changeCount.getSequenced() <= appliedSeq
+                && changeCount.getBase() == loadedBase
+                && failedBatches == repairedBatches;
+        if (caughtUp || Boolean.TRUE.equals(storeWithheld.get())) {
+            return read.get();
+        }
+        storeWithheld.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            storeWithheld.remove();
+        }
+    }
+
+    /**
+     * Stores an employee written by the current transaction once it has committed.
+     *
+     * @param employee the employee as written
+     */
+    void employeeWritten(EmployeeDto employee) {
+        if (scheduler != null) {
+            afterCommit(() -> apply(List.of(employee), List.of()));
+        }
+    }
+
+    /**
+     * Removes an employee deleted by the current transaction once it has committed.
+     *
+     * @param employeeId the id of the deleted employee
+     */
+    void employeeDeleted(Long employeeId) {
+        if (scheduler != null) {
+            afterCommit(() -> apply(List.of(), List.of(employeeId)));
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!readModelProperties.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("employee-read-model").daemon().factory());
+        scheduler.execute(this::load);
+        long refreshInterval = readModelProperties.getIndexRefreshInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushIndexes, refreshInterval, refreshInterval, TimeUnit.MILLISECONDS);
+        long reconcileInterval = readModelProperties.getReconcileInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::reload, reconcileInterval, reconcileInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        Runnable subscription = changeFeedSubscription;
+        if (subscription != null) {
+            subscription.run();
+            changeFeedSubscription = null;
+        }
+        scheduler.shutdownNow();
+        scheduler = null;
+        store = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("employee.read-model.size", this, readModel -> readModel.measure(EmployeeStore::size))
+                .description("Employees held by the in-memory read model")
+                .register(meterRegistry);
+        Gauge.builder("employee.read-model.heap", this, readModel -> readModel.measure(EmployeeStore::heapBytes))
+                .description("Estimated heap taken by the in-memory read model")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("employee.read-model.heap.per.row", this, EmployeeReadModel::heapBytesPerRow)
+                .description("Estimated heap taken per employee by the in-memory read model")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * First load: the change feed is followed from its current end before the table is read, so no change committed
+     * during the read is lost.
+     */
+    private void load() {
+        try {
+            long after = employeeChangeRepository.findLastSeq();
+            reload(() -> changeFeedSubscription = employeeChangeService.subscribe(after, this::onChanges));
+        } catch (RuntimeException ex) {
+            log.warn("Could not load the employee read model, reads stay on the database until the next reconciliation", ex);
+        }
+    }
+
+    private void reload() {
+        try {
+            if (changeFeedSubscription == null) {
+                load();
+            } else {
+                reload(() -> { });
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not reconcile the employee read model, keeping the current one", ex);
+        }
+    }
+
+    private void reload(Runnable beforeRead) {
+        long failedBefore;
+        writeLock.lock();
+        try {
+            replayedUpserts = new ArrayList<>();
+            replayedDeletes = new ArrayList<>();
+            failedBefore = failedBatches;
+        } finally {
+            writeLock.unlock();
+        }
+        long started = System.nanoTime();
+        Snapshot snapshot;
+        try {
+            beforeRead.run();
+            snapshot = read();
+        } catch (RuntimeException ex) {
+            writeLock.lock();
+            try {
+                replayedUpserts = null;
+                replayedDeletes = null;
+            } finally {
+                writeLock.unlock();
+            }
+            throw ex;
+        }
+        EmployeeStore loaded = snapshot.store();
+        writeLock.lock();
+        try {
+            replayedUpserts.forEach(loaded::upsert);
+            replayedDeletes.forEach(loaded::remove);
+            loaded.flushIndexes();
+            store = loaded;
+            // the new store is judged against the previous marks until these are set, which only holds it back
+            appliedSeq = Math.max(appliedSeq, snapshot.changeCount().getSequenced());
+            loadedBase = snapshot.changeCount().getBase();
+            repairedBatches = failedBefore;
+            replayedUpserts = null;
+            replayedDeletes = null;
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Loaded {} employees into the read model in {} ms, about {} bytes per employee", loaded.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), Math.round(heapBytesPerRow()));
+    }
+
+    /**
+     * Reads the whole table into a new store, in a read-only transaction and without blocking the current store.
+     * The change counter is read first, so the store holds at least every change it counts.
+     */
+    private Snapshot read() {
+        EmployeeStore current = store;
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> {
+            EmployeeRepository.ChangeCount changeCount = employeeRepository.getChangeCount();
+            EmployeeStore loaded = new EmployeeStore(current == null ? 1024 : current.size());
+            try (Stream<EmployeeDto> employees = employeeRepository.streamAllDtos()) {
+                employees.forEach(loaded::upsert);
+            }
+            loaded.flushIndexes();
+            return new Snapshot(loaded, changeCount);
+        });
+    }
+
+    private boolean onChanges(EmployeeChangeBatchDto batch) {
+        if (batch.isResync()) {
+            // changes were deleted before they were applied: withhold the store until a reload has repaired it
+            failedBatches++;
+            ScheduledExecutorService currentScheduler = scheduler;
+            if (currentScheduler != null) {
+                currentScheduler.execute(this::reload);
+            }
+            return true;
+        }
+        List<EmployeeDto> upserts = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        for (EmployeeChangeDto change : batch.getChanges()) {
+            if (change.getType() == EmployeeChange.Type.DELETED) {
+                deletes.add(change.getEmployee().getId());
+            } else {
+                upserts.add(change.getEmployee());
+            }
+        }
+        try {
+            apply(upserts, deletes);
+            appliedSeq = Math.max(appliedSeq, batch.getNextSeq());
+        } catch (RuntimeException ex) {
+            failedBatches++;
+            log.warn("Could not apply employee changes to the read model, they are repaired by the next reconciliation", ex);
+        }
+        // stay subscribed whatever happened
+        return true;
+    }
+
+    private void apply(Collection<EmployeeDto> upserts, Collection<Long> deletes) {
+        writeLock.lock();
+        try {
+            EmployeeStore current = store;
+            if (current != null) {
+                upserts.forEach(current::upsert);
+                deletes.forEach(current::remove);
+            }
+            if (replayedUpserts != null) {
+                replayedUpserts.addAll(upserts);
+                replayedDeletes.addAll(deletes);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void flushIndexes() {
+        writeLock.lock();
+        try {
+            EmployeeStore current = store;
+            if (current != null) {
+                current.flushIndexes();
+                current.compactTombstones(System.nanoTime() - readModelProperties.getTombstoneRetention().toNanos());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not refresh the indexes of the employee read model", ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private double heapBytesPerRow() {
+        EmployeeStore current = store;
+        if (current == null || current.size() == 0) {
+            return Double.NaN;
+        }
+        return (double) current.heapBytes() / current.size();
+    }
+
+    private double measure(ToLongFunction<EmployeeStore> metric) {
+        EmployeeStore current = store;
+        return current == null ? Double.NaN : metric.applyAsLong(current);
+    }
+
+    private record Snapshot(EmployeeStore store, EmployeeRepository.ChangeCount changeCount) {
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
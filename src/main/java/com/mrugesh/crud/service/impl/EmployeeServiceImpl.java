@@ -1,22 +1,52 @@
 package com.mrugesh.crud.service.impl;
 
+import com.mrugesh.crud.config.CacheConfig;
+import com.mrugesh.crud.datasource.ReadYourWritesContext;
+import com.mrugesh.crud.datasource.ReplicaPools;
+import com.mrugesh.crud.dto.BulkItemResultDto;
+import com.mrugesh.crud.dto.EmployeeBatchDto;
 import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.dto.EmployeePageDto;
+import com.mrugesh.crud.dto.EmployeeSearchCriteria;
+import com.mrugesh.crud.dto.EmployeeWindowDto;
 import com.mrugesh.crud.entity.Employee;
+import com.mrugesh.crud.event.EmployeesChangedEvent;
+import com.mrugesh.crud.exception.InvalidRequestException;
+import com.mrugesh.crud.exception.ResourceConflictException;
 import com.mrugesh.crud.exception.ResourceNotFoundException;
 import com.mrugesh.crud.mapper.EmployeeMapper;
+import com.mrugesh.crud.mapper.ScrollTokenMapper;
 import com.mrugesh.crud.repository.EmployeeRepository;
+import com.mrugesh.crud.repository.sort.EmployeeSortField;
+import com.mrugesh.crud.repository.sort.EmployeeSortOrder;
 import com.mrugesh.crud.repository.specification.EmployeeSpecification;
 import com.mrugesh.crud.service.EmployeeService;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
 
 /**
  * Implementation of the {@link EmployeeService} interface for managing Employee entities.
@@ -25,14 +55,40 @@ import java.util.stream.Collectors;
  * by interacting with the {@link EmployeeRepository}.</p>
  *
  * <p>It uses the {@link EmployeeMapper} to convert between {@link EmployeeDto} and
- * {@link Employee} entities.</p>
+ * {@link Employee} entities on the write paths. Reads query straight into {@link EmployeeDto}
+ * projections inside read-only transactions, which also mark the JDBC connection read-only,
+ * so no managed entities, dirty-checking snapshots or flushes are involved.</p>
+ *
+ * <p>When the {@link EmployeeReadModel} is enabled and loaded, lookups, sorted pages, email filters and email
+ * prefix searches are answered from memory instead, without a connection or a transaction.</p>
  */
 @Service
 @AllArgsConstructor
+@Timed(value = "employee.service", histogram = true)
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final int MAX_WINDOW_SIZE = 1000;
+
+    private static final int MIN_CONTAINS_LENGTH = 3;
+
+    private static final int MAX_BATCH_IDS = 10_000;
+
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
     private EmployeeRepository employeeRepository;
 
+    private EmployeeBatchWriter employeeBatchWriter;
+
+    private EmployeeExporter employeeExporter;
+
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private EmployeeReadModel employeeReadModel;
+
+    private ObjectProvider<ReplicaPools> replicaPools;
+
+    private final SingleFlight<Long, Optional<EmployeeDto>> employeeLookups = new SingleFlight<>();
+
     /**
      * Creates a new employee in the repository.
      *
@@ -43,116 +99,507 @@ public class EmployeeServiceImpl implements EmployeeService {
      * @return the created {@link EmployeeDto} with the assigned ID
      */
     @Override
+    @Transactional
+    @Caching(put = @CachePut(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.EMPLOYEE_COUNT_CACHE, allEntries = true))
     public EmployeeDto createEmployee(EmployeeDto employeeDto){
 
         Employee employee = EmployeeMapper.mapToEmployee(employeeDto);
+        employee.setId(null);
+        employee.setVersion(null);
         Employee savedEmployee = employeeRepository.save(employee);
-        return EmployeeMapper.mapToEmployeeDto(savedEmployee);
+        applicationEventPublisher.publishEvent(new EmployeesChangedEvent(List.of(savedEmployee.getId())));
+        EmployeeDto savedEmployeeDto = EmployeeMapper.mapToEmployeeDto(savedEmployee);
+        employeeReadModel.employeeWritten(savedEmployeeDto);
+        return savedEmployeeDto;
+    }
+
+    /**
+     * Creates employees in bulk.
+     *
+     * <p>This method delegates to the {@link EmployeeBatchWriter}, which inserts the employees through JDBC batched
+     * statements and reports the outcome of every item.</p>
+     *
+     * @param employeeDtos the employees to create
+     * @return one result per employee, in request order
+     */
+    @Override
+    public List<BulkItemResultDto> createEmployees(Iterable<EmployeeDto> employeeDtos) {
+        return employeeBatchWriter.createEmployees(employeeDtos);
     }
 
     /**
      * Retrieves an employee by their ID.
      *
-     * <p>This method fetches an {@link Employee} entity from the repository by its ID. If the
+     * <p>This method fetches the employee from the repository by its ID. If the
      * employee is not found, a {@link ResourceNotFoundException} is thrown with a message indicating
      * that no employee exists with the provided ID.</p>
      *
+     * <p>Results are served from the {@value CacheConfig#EMPLOYEES_CACHE} cache when present, so hot ids
+     * do not reach the database. Concurrent misses for the same id share a single query: the first one reads
+     * the row in its own read-only transaction, the others wait for its result without taking a connection.
+     * Callers whose reads are pinned to the primary after a write read the row themselves.
+     * Ids held by the read model never reach the database; ids it does not know are still looked up, since the
+     * employee may have been created after the read model last heard of it.</p>
+     *
+     * <p>Reads that may be served by a lagging replica are not cached, see {@link #readsFromReplica()}.</p>
+     *
      * @param employeeId the ID of the employee to retrieve
      * @return the {@link EmployeeDto} corresponding to the employee with the given ID
      * @throws ResourceNotFoundException if no employee is found with the specified ID
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#employeeId", unless = "#root.target.readsFromReplica()")
     public EmployeeDto getEmployeeById(Long employeeId) {
-        Employee employee = employeeRepository.findById(employeeId)
-                    .orElseThrow(() ->
-                        new ResourceNotFoundException("Employee not exist with given id: "+ employeeId));
-        return EmployeeMapper.mapToEmployeeDto(employee);
+        return lookupEmployee(employeeId).orElseThrow(() ->
+                new ResourceNotFoundException("Employee not exist with given id: "+ employeeId));
+    }
+
+    /**
+     * Looks up an employee by their ID without treating an unknown ID as an error.
+     *
+     * <p>Same lookup as {@link #getEmployeeById(Long)}, but a miss comes back as an empty {@link Optional}
+     * instead of an exception. Misses are not cached: an id probed before the employee was created must
+     * not keep answering empty afterwards.</p>
+     *
+     * @param employeeId the ID of the employee to look up
+     * @return the {@link EmployeeDto} with the given ID, empty when there is none
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#employeeId",
+            unless = "#result == null || #root.target.readsFromReplica()")
+    public Optional<EmployeeDto> findEmployeeById(Long employeeId) {
+        return lookupEmployee(employeeId);
     }
 
     /**
      * Retrieves a list of all employees.
      *
-     * <p>This method fetches all {@link Employee} entities from the repository,
-     * maps them to {@link EmployeeDto} objects, and returns them as a list.</p>
+     * <p>This method reads all employees from the repository as {@link EmployeeDto} projections,
+     * ordered by id, and returns them as a list.</p>
      *
      * @return a list of {@link EmployeeDto} representing all employees in the system
      */
     @Override
+    @Transactional(readOnly = true)
     public List<EmployeeDto> getAllEmployees() {
-        List<Employee> employees = employeeRepository.findAll();
-        return employees.stream().map(EmployeeMapper::mapToEmployeeDto)
-                .collect(Collectors.toList());
+        return employeeRepository.findAllDtos(null);
+    }
+
+    /**
+     * Exports all employees without materializing the table.
+     *
+     * <p>This method delegates to the {@link EmployeeExporter}, which reads the partitions of the table side by
+     * side through cursors, from one shared snapshot, and hands each employee to the consumer. No entity is
+     * managed, so memory use does not grow with the size of the table. The exporter manages its own connections
+     * and transactions: it takes them from a replica itself when reads are routed to replicas, a read-only
+     * transaction here would only hold one more connection.</p>
+     *
+     * @param pinnedToPrimary whether the client has to read from the primary, decided on the request thread
+     * @param consumer callback invoked for every employee while the underlying cursors are open
+     */
+    @Override
+    public void exportAllEmployees(boolean pinnedToPrimary, Consumer<EmployeeDto> consumer) {
+        employeeExporter.exportAllEmployees(pinnedToPrimary, consumer);
     }
 
     /**
      * Update an employee by their id
      *
-     * <p>This method updates {@link Employee} entity from the repository by its ID.</p>
+     * <p>This method updates {@link Employee} entity from the repository by its ID with a single
+     * {@code UPDATE} statement and reads the row back in the same transaction. When the DTO carries a version,
+     * the update only applies if the stored version still matches.</p>
      * @param employeeId Unique id to update employee
      * @param updatedEmployee Employee DTO containing updated information
      * @return Updated Employee DTO
+     * @throws ResourceNotFoundException if no employee is found with the specified ID
+     * @throws ResourceConflictException if the employee was modified since the given version
      */
     @Override
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#employeeId")
     public EmployeeDto updateEmployee(Long employeeId, EmployeeDto updatedEmployee) {
 
-        Employee employee = employeeRepository.findById(employeeId).orElseThrow(
-                ()->new ResourceNotFoundException("Employee not exists with given id: "+ employeeId)
+        int updated = employeeRepository.updateEmployee(employeeId,
+                updatedEmployee.getFirstName(),
+                updatedEmployee.getLastName(),
+                updatedEmployee.getEmail(),
+                updatedEmployee.getVersion()
         );
-        employee.setFirstname(updatedEmployee.getFirstName());
-        employee.setLastname(updatedEmployee.getLastName());
-        employee.setEmail(updatedEmployee.getEmail());
+        return updated(employeeId, updated, updatedEmployee.getVersion());
+    }
+
+    /**
+     * Partially update an employee by their id
+     *
+     * <p>This method only changes the fields that are set in the given DTO, with a single
+     * {@code UPDATE} statement, and reads the row back in the same transaction.</p>
+     * @param employeeId Unique id to update employee
+     * @param employeePatch Employee DTO containing the fields to change
+     * @return Updated Employee DTO
+     * @throws ResourceNotFoundException if no employee is found with the specified ID
+     * @throws ResourceConflictException if the employee was modified since the given version
+     */
+    @Override
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#employeeId")
+    public EmployeeDto patchEmployee(Long employeeId, EmployeeDto employeePatch) {
 
-        Employee updatedEmployeeObj = employeeRepository.save(employee);
+        int updated = employeeRepository.patchEmployee(employeeId,
+                employeePatch.getFirstName(),
+                employeePatch.getLastName(),
+                employeePatch.getEmail(),
+                employeePatch.getVersion()
+        );
+        return updated(employeeId, updated, employeePatch.getVersion());
+    }
 
-        return EmployeeMapper.mapToEmployeeDto(updatedEmployeeObj);
+    /**
+     * Update employees in bulk
+     *
+     * <p>This method delegates to the {@link EmployeeBatchWriter}, which loads each chunk with one query and
+     * writes the changes through JDBC batched statements.</p>
+     * @param employeeDtos the employees to update, identified by their id
+     * @return one result per employee, in request order
+     */
+    @Override
+    public List<BulkItemResultDto> updateEmployees(Iterable<EmployeeDto> employeeDtos) {
+        return employeeBatchWriter.updateEmployees(employeeDtos);
     }
 
     /**
      * Delete Employee by id
+     *
+     * <p>This method removes the employee with a single {@code DELETE} statement and uses the
+     * affected row count to detect unknown ids and stale versions.</p>
      * @param employeeId unique id to delete employee
+     * @param expectedVersion version the employee must still have, {@code null} to delete unconditionally
+     * @throws ResourceNotFoundException if no employee is found with the specified ID
+     * @throws ResourceConflictException if the employee was modified since the given version
      */
     @Override
-    public void deleteEmployee(Long employeeId) {
-        Employee employee = employeeRepository.findById(employeeId).orElseThrow(
-                ()->new ResourceNotFoundException("Employee not exists with given id: "+ employeeId)
-        );
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#employeeId"),
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEE_COUNT_CACHE, allEntries = true)
+    })
+    public void deleteEmployee(Long employeeId, Long expectedVersion) {
+        if (employeeRepository.deleteEmployeeById(employeeId, expectedVersion) == 0) {
+            throw notUpdated(employeeId, expectedVersion);
+        }
+        applicationEventPublisher.publishEvent(new EmployeesChangedEvent(List.of(employeeId)));
+        employeeReadModel.employeeDeleted(employeeId);
+    }
 
-        employeeRepository.deleteById(employeeId);
+    /**
+     * Delete employees in bulk
+     *
+     * <p>This method delegates to the {@link EmployeeBatchWriter}, which removes each chunk with a single statement.</p>
+     * @param employeeIds ids of the employees to delete
+     * @return one result per id, in request order
+     */
+    @Override
+    public List<BulkItemResultDto> deleteEmployees(Iterable<Long> employeeIds) {
+        return employeeBatchWriter.deleteEmployees(employeeIds);
+    }
 
+    /**
+     * Return the employees with the given ids
+     *
+     * <p>The distinct ids are looked up {@value #MAX_IDS_PER_QUERY} at a time, each chunk with one array-parameter
+     * query, inside one read-only transaction. The result is then mapped onto the requested ids: it follows their
+     * order, a repeated id gets its employee, or its entry in the missing ids, every time it is requested.</p>
+     * @param employeeIds ids to look up, in the order the employees should be returned, repeats included
+     * @return the employees found in request order and the ids without an employee
+     * @throws InvalidRequestException if there are too many ids or one of them is {@code null}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeBatchDto getEmployeesByIds(List<Long> employeeIds) {
+        if (employeeIds.size() > MAX_BATCH_IDS) {
+            throw new InvalidRequestException("At most " + MAX_BATCH_IDS + " ids can be looked up at once");
+        }
+        if (employeeIds.contains(null)) {
+            throw new InvalidRequestException("Employee ids must not be null");
+        }
+        List<Long> distinctIds = employeeIds.stream().distinct().toList();
+        Map<Long, EmployeeDto> employeesById = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += MAX_IDS_PER_QUERY) {
+            Long[] chunk = distinctIds.subList(from, Math.min(from + MAX_IDS_PER_QUERY, distinctIds.size())).toArray(Long[]::new);
+            employeeRepository.findAllDtosByIdArray(chunk)
+                    .forEach(employee -> employeesById.put(employee.getId(), employee));
+        }
+        List<EmployeeDto> employees = new ArrayList<>(employeeIds.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long employeeId : employeeIds) {
+            EmployeeDto employee = employeesById.get(employeeId);
+            if (employee != null) {
+                employees.add(employee);
+            } else {
+                missingIds.add(employeeId);
+            }
+        }
+        return new EmployeeBatchDto(employees, missingIds);
     }
 
     /**
-     * Return employees by page size
+     * Return employees by page size, ordered by id
+     *
+     * <p>The page is read as a slice, one row more than requested, so no count query runs alongside it. A last
+     * page gives the exact total for free; otherwise the total is skipped, counted, or estimated from the planner
+     * statistics, as requested. Without statistics the estimate is a count of the last few seconds from the
+     * {@value CacheConfig#EMPLOYEE_COUNT_CACHE} cache. Totals read apart from the slice never go below what the
+     * slice has shown. The read model, when loaded, serves the slice and knows the exact total.</p>
      * @param offset page number we want
      * @param pageSize size of pages
+     * @param total how the total number of employees should be obtained
      * @return page with content
+     * @throws InvalidRequestException if the paging is not acceptable
+     */
+    @Override
+    public EmployeePageDto getAllEmployeesWithPagination(int offset, int pageSize, EmployeePageDto.Total total){
+        PageRequest pageRequest = pageRequest(offset, pageSize, Sort.unsorted());
+        EmployeeStore store = employeeReadModel.getStore();
+        Slice<EmployeeDto> slice = store != null
+                ? store.findAll(EmployeeSortOrder.ID, Sort.Direction.ASC, pageRequest)
+                : employeeRepository.findDtoSlice(pageRequest);
+        EmployeePageDto page = new EmployeePageDto(slice.getContent(), offset, pageSize, slice.hasNext(), null, null, total);
+        if (total == EmployeePageDto.Total.NONE) {
+            return page;
+        }
+        long seen = (long) offset * pageSize + slice.getNumberOfElements();
+        long shown = slice.hasNext() ? seen + 1 : seen;
+        long totalElements;
+        if (store != null) {
+            totalElements = Math.max(store.size(), shown);
+            page.setTotal(EmployeePageDto.Total.EXACT);
+        } else if (!slice.hasNext() && (slice.hasContent() || offset == 0)) {
+            totalElements = seen;
+            page.setTotal(EmployeePageDto.Total.EXACT);
+        } else if (total == EmployeePageDto.Total.ESTIMATED) {
+            // the statistics and the cached count may lag behind the table, the total never goes below this page
+            long estimate = employeeRepository.estimateCount();
+            totalElements = Math.max(estimate >= 0 ? estimate : employeeRepository.countAll(), shown);
+        } else {
+            // counted in a statement of its own, rows deleted since the slice was read may be missing from it
+            totalElements = Math.max(employeeRepository.count(), shown);
+        }
+        page.setTotalElements(totalElements);
+        page.setTotalPages((int) ((totalElements + pageSize - 1) / pageSize));
+        return page;
+    }
+
+    /**
+     * Return one window of employees using keyset (seek) pagination
+     *
+     * <p>Instead of skipping {@code offset * pageSize} rows, the query continues right after the sort keys of the
+     * last row of the previous window ({@code WHERE (field, id) > (?, ?)}), and no count query is issued, so
+     * every window costs the same no matter how deep the client has scrolled.</p>
+     *
+     * <p>Only non-null fields can be used as keys, a {@code null} key would silently end the listing early.
+     * The window is read in a read-only transaction, so Hibernate keeps no snapshot of the loaded rows.</p>
+     *
+     * @param field field to sort by, {@code id} is always appended as a tiebreaker
+     * @param direction sort direction
+     * @param size maximum number of employees in the window
+     * @param token continuation token of the previous window, {@code null} for the first one
+     * @return window with content and the token of the next window
+     * @throws InvalidRequestException if the field, size or token is not acceptable
      */
     @Override
-    public Page<EmployeeDto> getAllEmployeesWithPagination(int offset, int pageSize){
-        Page<Employee> employees = employeeRepository.findAll(PageRequest.of(offset, pageSize));
-        return employees.map(EmployeeMapper::mapToEmployeeDto);
+    @Transactional(readOnly = true)
+    public EmployeeWindowDto getAllEmployeesWithKeyset(String field, Sort.Direction direction, int size, String token) {
+        EmployeeSortField sortField = EmployeeSortField.fromFieldName(field);
+        if (sortField.isNullable()) {
+            throw new InvalidRequestException("Keyset pagination needs a non-null sort field, "
+                    + sortField.getFieldName() + " may be null");
+        }
+        if (size < 1 || size > MAX_WINDOW_SIZE) {
+            throw new InvalidRequestException("Window size must be between 1 and " + MAX_WINDOW_SIZE);
+        }
+        Sort sort = Sort.by(direction, sortField.getProperty());
+        if (sortField != EmployeeSortField.ID) {
+            sort = sort.and(Sort.by(direction, EmployeeSortField.ID.getProperty()));
+        }
+        Sort keysetSort = sort;
+        KeysetScrollPosition position = ScrollTokenMapper.mapToScrollPosition(token, keysetSort);
+        Specification<Employee> allEmployees = Specification.where(null);
+
+        Window<Employee> window = employeeRepository.findBy(allEmployees,
+                query -> query.sortBy(keysetSort).limit(size).scroll(position));
+
+        String nextToken = window.hasNext() ? ScrollTokenMapper.mapToToken(window.positionAt(window.size() - 1)) : null;
+        return new EmployeeWindowDto(window.map(EmployeeMapper::mapToEmployeeDto).getContent(), nextToken, window.hasNext());
     }
 
     /**
-     * Return sorted List of employees
-     * @param field method use for sorting
-     * @return sorted elements
+     * Return one page of sorted employees
+     *
+     * <p>The requested keys are resolved against the {@link EmployeeSortOrder} whitelist, so only orderings backed by
+     * a composite index reach the database, and the result is always paginated. The read model, when loaded, keeps
+     * one index per ordering and serves the page from it, orderings on text only when the database sorts text the
+     * same way.</p>
+     * @param fields comma separated sort keys, e.g. {@code lastName,firstName}
+     * @param direction direction applied to every key
+     * @param page page number we want
+     * @param size size of pages
+     * @return sorted elements of the requested page
+     * @throws InvalidRequestException if the ordering or the paging is not supported
      */
     @Override
-    public List<EmployeeDto> getAllEmployeesWithSorting(String field) {
-        List<Employee> employees = employeeRepository.findAll(Sort.by(Sort.Direction.ASC, field));
-        return employees.stream().map(EmployeeMapper::mapToEmployeeDto)
-                .collect(Collectors.toList());
+    public Slice<EmployeeDto> getAllEmployeesWithSorting(String fields, Sort.Direction direction, int page, int size) {
+        EmployeeSortOrder order = EmployeeSortOrder.fromFieldNames(fields);
+        PageRequest pageRequest = pageRequest(page, size, order.toSort(direction));
+        EmployeeStore store = employeeReadModel.getStore();
+        if (store != null && (order == EmployeeSortOrder.ID || employeeReadModel.isTextOrderShared())) {
+            return store.findAll(order, direction, pageRequest);
+        }
+        return employeeRepository.findDtos(null, pageRequest);
     }
 
     /**
-     * @param email
-     * @return
+     * Return employees with the given email id
+     *
+     * <p>The email id is resolved through the email lookup, so only the partition holding the employee is read.</p>
+     * @param email email id to match, all employees are returned when blank
+     * @return matching employees, ordered by id
      */
     @Override
     public List<EmployeeDto> getAllEmployeesWithFilter(String email) {
-        Specification<Employee> specification = EmployeeSpecification.filterEmployee(email);
-        List<Employee> employees = this.employeeRepository.findAll(specification);
-        return employees.stream().map(EmployeeMapper::mapToEmployeeDto).collect(Collectors.toList());
+        EmployeeStore store = employeeReadModel.getStore();
+        if (store != null) {
+            return isBlank(email) ? store.findAll() : store.findAllByEmail(email);
+        }
+        if (isBlank(email)) {
+            return employeeRepository.findAllDtos(null);
+        }
+        return employeeRepository.findAllDtosByEmail(email);
+    }
+
+    /**
+     * Search employees by first name, last name and email
+     *
+     * <p>Every non-blank criterion becomes a case-insensitive {@code lower(column) LIKE} predicate backed by an
+     * expression index, and only the projected columns are read. Substring matches need at least
+     * {@value #MIN_CONTAINS_LENGTH} characters, the minimum a trigram index can narrow down. A prefix search on the
+     * email alone is answered by the read model when it is loaded and folds case like the database does.</p>
+     *
+     * @param criteria the criteria to match, blank criteria are ignored
+     * @param page page number we want
+     * @param size size of pages
+     * @return slice with the matching employees, ordered by id
+     * @throws InvalidRequestException if the paging or a substring criterion is not acceptable
+     */
+    @Override
+    public Slice<EmployeeDto> searchEmployees(EmployeeSearchCriteria criteria, int page, int size) {
+        if (criteria.getMatch() == EmployeeSearchCriteria.Match.CONTAINS) {
+            for (String value : new String[]{criteria.getFirstName(), criteria.getLastName(), criteria.getEmail()}) {
+                if (value != null && !value.isBlank() && value.trim().length() < MIN_CONTAINS_LENGTH) {
+                    throw new InvalidRequestException("Substring searches need at least " + MIN_CONTAINS_LENGTH + " characters");
+                }
+            }
+        }
+        PageRequest pageRequest = pageRequest(page, size, Sort.unsorted());
+        EmployeeStore store = employeeReadModel.getStore();
+        if (store != null && criteria.getMatch() == EmployeeSearchCriteria.Match.PREFIX && isBlank(criteria.getFirstName())
+                && isBlank(criteria.getLastName()) && !isBlank(criteria.getEmail())
+                && store.canFindByEmailPrefix(criteria.getEmail().trim())) {
+            return store.findByEmailPrefix(criteria.getEmail().trim(), pageRequest);
+        }
+        Specification<Employee> specification = EmployeeSpecification.searchEmployees(criteria);
+        return employeeRepository.findDtos(specification, pageRequest);
+    }
+
+    /**
+     * Read employees together with their change counter
+     *
+     * <p>The counter is derived from the change feed outbox with three index lookups, whatever the size of the
+     * table, and writers never wait on it. The reads made by {@code read} join this transaction: counter and
+     * employees come from the same connection, and so from the same database when reads go to replicas. The read
+     * model only serves them once it holds every change the counter counts: content older than the counter would
+     * otherwise be labelled with it, and a client revalidating later would keep it.</p>
+     * @param read receives the current value of the counter and reads the employees
+     * @return the result of the read
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public <T> T readWithChangeCount(LongFunction<T> read) {
+        EmployeeRepository.ChangeCount changeCount = employeeRepository.getChangeCount();
+        return employeeReadModel.readAt(changeCount, () -> read.apply(changeCount.getTotal()));
+    }
+
+    /**
+     * Tells whether a read of the current thread may be served by a read replica.
+     *
+     * <p>A replica may still hold an employee older than one just written: an update evicting the employee, or
+     * putting it while the read was running, would be followed by the older version in the cache until it
+     * expires. Only reads pinned to the primary by a write of the same client are cached then.</p>
+     *
+     * @return {@code true} when reads are routed to replicas and the current thread is not pinned to the primary
+     */
+    public boolean readsFromReplica() {
+        return replicaPools.getIfAvailable() != null && !ReadYourWritesContext.isPinnedToPrimary();
+    }
+
+    /**
+     * Makes lookups arriving after a committed write read the employee again instead of joining a query
+     * that may have started before the write.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesChanged(EmployeesChangedEvent event) {
+        event.employeeIds().forEach(employeeLookups::forget);
+    }
+
+    /**
+     * Explains why a conditional update matched no row. The extra lookup only runs on this failure path.
+     */
+    /**
+     * Reads back an employee written by the current transaction and announces the write.
+     */
+    private EmployeeDto updated(Long employeeId, int updatedRows, Long expectedVersion) {
+        if (updatedRows == 0) {
+            throw notUpdated(employeeId, expectedVersion);
+        }
+        // the row is locked by the update until commit, the read sees it as written
+        EmployeeDto employeeDto = employeeRepository.findDtoById(employeeId)
+                .orElseThrow(() -> notUpdated(employeeId, expectedVersion));
+        applicationEventPublisher.publishEvent(new EmployeesChangedEvent(List.of(employeeId)));
+        employeeReadModel.employeeWritten(employeeDto);
+        return employeeDto;
+    }
+
+    private RuntimeException notUpdated(Long employeeId, Long expectedVersion) {
+        if (expectedVersion != null && employeeRepository.existsById(employeeId)) {
+            return new ResourceConflictException("Employee with given id: " + employeeId
+                    + " has been modified since version " + expectedVersion);
+        }
+        return new ResourceNotFoundException("Employee not exists with given id: "+ employeeId);
+    }
+
+    private Optional<EmployeeDto> lookupEmployee(Long employeeId) {
+        if (ReadYourWritesContext.isPinnedToPrimary()) {
+            // a shared lookup may be reading a replica for a caller that is not pinned, and the read model may not
+            // have heard yet of a write this client made on another instance
+            return employeeRepository.findDtoById(employeeId);
+        }
+        EmployeeStore store = employeeReadModel.getStore();
+        if (store != null) {
+            Optional<EmployeeDto> employee = store.findById(employeeId);
+            if (employee.isPresent()) {
+                return employee;
+            }
+        }
+        return employeeLookups.load(employeeId, () -> employeeRepository.findDtoById(employeeId));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static PageRequest pageRequest(int page, int size, Sort sort) {
+        if (page < 0 || size < 1 || size > MAX_WINDOW_SIZE) {
+            throw new InvalidRequestException("Page must not be negative and size must be between 1 and " + MAX_WINDOW_SIZE);
+        }
+        return PageRequest.of(page, size, sort);
     }
 }
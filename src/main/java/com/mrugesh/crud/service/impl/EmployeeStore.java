@@ -0,0 +1,747 @@
+package com.mrugesh.crud.service.impl;
+
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.repository.sort.EmployeeSortField;
+import com.mrugesh.crud.repository.sort.EmployeeSortOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Compact in-memory copy of the employees table, the storage of the {@link EmployeeReadModel}.
+ *
+ * <p>Every employee occupies a slot: its id and version in two {@code long[]} columns, and its first name, last name
+ * and email packed into one {@code byte[]} as length-prefixed UTF-8, a single small object per row. Ids are mapped to
+ * slots by a {@link LongIntHashMap}. Every {@link EmployeeSortOrder} has a sorted {@code int[]} of slots, so a page
+ * of any whitelisted ordering is a range of that array, read backwards for descending order.</p>
+ *
+ * <p>Text is ordered by its UTF-8 bytes, {@code null} last: by code point, like the {@code "C"} collation of Postgres
+ * and the default string comparison of H2. Databases with another collation order text differently, the
+ * {@link EmployeeReadModel} only serves text orderings when the database shares this one. An extra index of the
+ * emails folded to ASCII lower case serves exact and case-insensitive prefix lookups by binary search. Folding ASCII
+ * only is the database {@code lower()} as long as the probe is ASCII and no stored email holds a character that
+ * {@code lower()} turns into an ASCII one, such as the Kelvin sign; other prefix searches are left to the database,
+ * see {@link #canFindByEmailPrefix(String)}.</p>
+ *
+ * <p>Writes replace slots rather than changing them: the id map points at the new row at once, while the sorted
+ * indexes keep listing the previous rows until {@link #flushIndexes()} merges the pending changes in. The merge runs
+ * outside the lock, readers only wait for the swap of the arrays. Replaced slots are reused after that swap, once no
+ * index refers to them. Removed ids stay in the id map as tombstones until {@link #compactTombstones(long)} drops
+ * them, so the map does not grow with every delete until the next full load. Writes must be serialized by the
+ * caller, reads may run concurrently with them.</p>
+ */
+final class EmployeeStore {
+
+    private static final int NULL_LENGTH = 0xFFFF;
+
+    private static final int TOMBSTONE = -2;
+
+    private static final int ID_KEY = -1;
+
+    private static final int FIRST_NAME_COLUMN = 0;
+
+    private static final int LAST_NAME_COLUMN = 1;
+
+    private static final int EMAIL_COLUMN = 2;
+
+    private static final EmployeeSortOrder[] ORDERS = EmployeeSortOrder.values();
+
+    // the index after those of the orderings, emails folded to ASCII lower case
+    private static final int EMAIL_LOOKUP = ORDERS.length;
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private static final int PARALLEL_SORT_THRESHOLD = 100_000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongIntHashMap slotsById;
+
+    private long[] ids;
+
+    private long[] versions;
+
+    private byte[][] rows;
+
+    private int slotLimit;
+
+    private int[] freeSlots = new int[16];
+
+    private int freeCount;
+
+    private int size;
+
+    private long rowBytes;
+
+    // stored emails holding a character that lower() turns into an ASCII one
+    private int asciiFoldingEmails;
+
+    // ids turned into tombstones and when, oldest first
+    private long[] tombstoneIds = new long[16];
+
+    private long[] tombstoneTimes = new long[16];
+
+    private int tombstoneHead;
+
+    private int tombstoneCount;
+
+    private int[][] indexes = new int[ORDERS.length + 1][0];
+
+    private volatile boolean indexed = true;
+
+    // only touched by the writer
+    private final IntBuffer addedSlots = new IntBuffer();
+
+    private final IntBuffer removedSlots = new IntBuffer();
+
+    EmployeeStore(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        this.slotsById = new LongIntHashMap(capacity);
+        this.ids = new long[capacity];
+        this.versions = new long[capacity];
+        this.rows = new byte[capacity][];
+    }
+
+    /**
+     * Stores an employee unless the store already holds the same or a newer version of it, or it was deleted.
+     *
+     * @param employee the employee to store
+     * @return {@code true} if the employee was stored
+     */
+    boolean upsert(EmployeeDto employee) {
+        long id = employee.getId();
+        long version = employee.getVersion() == null ? 0 : employee.getVersion();
+        byte[] row = pack(employee);
+        lock.writeLock().lock();
+        try {
+            int previous = slotsById.get(id);
+            if (previous == TOMBSTONE || previous >= 0 && versions[previous] >= version) {
+                return false;
+            }
+            int slot = allocateSlot();
+            ids[slot] = id;
+            versions[slot] = version;
+            rows[slot] = row;
+            rowBytes += arrayBytes(row.length);
+            if (foldsIntoAscii(row)) {
+                asciiFoldingEmails++;
+            }
+            slotsById.put(id, slot);
+            addedSlots.add(slot);
+            indexed = false;
+            if (previous >= 0) {
+                replaced(previous);
+            } else {
+                size++;
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an employee and remembers the id until {@link #compactTombstones(long)} drops it, so an older version
+     * arriving late does not bring it back.
+     *
+     * @param id the id of the employee
+     * @return {@code true} if the store held the employee
+     */
+    boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int previous = slotsById.put(id, TOMBSTONE);
+            if (previous != TOMBSTONE) {
+                addTombstone(id, System.nanoTime());
+            }
+            if (previous < 0) {
+                return false;
+            }
+            replaced(previous);
+            size--;
+            indexed = false;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Merges the writes since the last flush into the sorted indexes.
+     *
+     * @return the number of slots added to or removed from the indexes
+     */
+    int flushIndexes() {
+        if (addedSlots.size == 0 && removedSlots.size == 0) {
+            return 0;
+        }
+        BitSet removed = new BitSet(slotLimit);
+        for (int i = 0; i < removedSlots.size; i++) {
+            removed.set(removedSlots.values[i]);
+        }
+        // a slot replaced again before this flush never enters the indexes
+        int[] added = IntStream.of(addedSlots.toArray()).filter(slot -> !removed.get(slot)).toArray();
+        int[][] current = indexes;
+        int[][] merged = new int[current.length][];
+        IntStream orders = IntStream.range(0, current.length);
+        if (added.length >= PARALLEL_SORT_THRESHOLD) {
+            orders = orders.parallel();
+        }
+        orders.forEach(order -> {
+            SlotComparator comparator = order == EMAIL_LOOKUP ? emailLookupComparator() : comparator(ORDERS[order]);
+            int[] sortedAdded = added.clone();
+            sort(sortedAdded, comparator);
+            merged[order] = merge(current[order], removed, sortedAdded, comparator);
+        });
+        int changes = addedSlots.size + removedSlots.size;
+        lock.writeLock().lock();
+        try {
+            indexes = merged;
+            for (int i = 0; i < removedSlots.size; i++) {
+                freeSlot(removedSlots.values[i]);
+            }
+            indexed = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        addedSlots.clear();
+        removedSlots.clear();
+        return changes;
+    }
+
+    /**
+     * Forgets the ids removed before a point in time, older versions of them are stored again if they arrive.
+     *
+     * @param removedBefore the {@link System#nanoTime()} before which removed ids are forgotten
+     * @return the number of ids forgotten
+     */
+    int compactTombstones(long removedBefore) {
+        lock.writeLock().lock();
+        try {
+            int compacted = 0;
+            while (tombstoneCount > 0 && tombstoneTimes[tombstoneHead] - removedBefore < 0) {
+                long id = tombstoneIds[tombstoneHead];
+                if (slotsById.get(id) == TOMBSTONE) {
+                    slotsById.remove(id);
+                    compacted++;
+                }
+                tombstoneHead = (tombstoneHead + 1) % tombstoneIds.length;
+                tombstoneCount--;
+            }
+            return compacted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of removed ids still remembered
+     */
+    int tombstoneCount() {
+        lock.readLock().lock();
+        try {
+            return tombstoneCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether the sorted indexes hold every write, {@code false} between a write and the next flush
+     */
+    boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * @param id the id of the employee
+     * @return the employee, empty if the store does not hold it
+     */
+    Optional<EmployeeDto> findById(long id) {
+        lock.readLock().lock();
+        try {
+            int slot = slotsById.get(id);
+            return slot < 0 ? Optional.empty() : Optional.of(toDto(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads one page of employees in a whitelisted order.
+     *
+     * @param order the ordering, applied to every key in the given direction
+     * @param direction the direction
+     * @param pageable the page to read, its sort is not used
+     * @return the page, with whether another one follows
+     */
+    Slice<EmployeeDto> findAll(EmployeeSortOrder order, Sort.Direction direction, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            int[] index = indexes[order.ordinal()];
+            long from = Math.min(pageable.getOffset(), index.length);
+            int to = (int) Math.min(from + pageable.getPageSize(), index.length);
+            List<EmployeeDto> content = new ArrayList<>(to - (int) from);
+            for (int i = (int) from; i < to; i++) {
+                content.add(toDto(index[direction.isAscending() ? i : index.length - 1 - i]));
+            }
+            return new SliceImpl<>(content, pageable, to < index.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return all employees, ordered by id
+     */
+    List<EmployeeDto> findAll() {
+        lock.readLock().lock();
+        try {
+            int[] index = indexes[EmployeeSortOrder.ID.ordinal()];
+            List<EmployeeDto> employees = new ArrayList<>(index.length);
+            for (int slot : index) {
+                employees.add(toDto(slot));
+            }
+            return employees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param email the email id, matched exactly
+     * @return the employees with the email id, ordered by id
+     */
+    List<EmployeeDto> findAllByEmail(String email) {
+        byte[] probe = email.getBytes(StandardCharsets.UTF_8);
+        List<EmployeeDto> employees = new ArrayList<>(1);
+        lock.readLock().lock();
+        try {
+            int[] index = indexes[EMAIL_LOOKUP];
+            for (int i = lowerBound(index, probe); i < index.length; i++) {
+                byte[] row = rows[index[i]];
+                int offset = offset(row, EMAIL_COLUMN);
+                int length = length(row, offset);
+                if (length == NULL_LENGTH || compareFolded(row, offset + 2, length, probe, 0, probe.length) != 0) {
+                    break;
+                }
+                if (Arrays.equals(row, offset + 2, offset + 2 + length, probe, 0, probe.length)) {
+                    employees.add(toDto(index[i]));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        employees.sort(Comparator.comparing(EmployeeDto::getId));
+        return employees;
+    }
+
+    /**
+     * Tells whether {@link #findByEmailPrefix(String, Pageable)} finds the same employees as a case-insensitive
+     * prefix search of the database: the prefix is ASCII and no stored email has a character {@code lower()} turns
+     * into an ASCII one.
+     *
+     * @param prefix the prefix of the email id
+     * @return {@code true} if the store can answer the search
+     */
+    boolean canFindByEmailPrefix(String prefix) {
+        for (int i = 0; i < prefix.length(); i++) {
+            if (prefix.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        lock.readLock().lock();
+        try {
+            return asciiFoldingEmails == 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads one page of the employees whose email id starts with a prefix, ignoring the case of ASCII letters. Only
+     * matches the database when {@link #canFindByEmailPrefix(String)} holds.
+     *
+     * @param prefix the prefix of the email id
+     * @param pageable the page to read, its sort is not used
+     * @return the page of matching employees ordered by id, with whether another one follows
+     */
+    Slice<EmployeeDto> findByEmailPrefix(String prefix, Pageable pageable) {
+        byte[] probe = prefix.getBytes(StandardCharsets.UTF_8);
+        lock.readLock().lock();
+        try {
+            int[] index = indexes[EMAIL_LOOKUP];
+            IntBuffer matches = new IntBuffer();
+            for (int i = lowerBound(index, probe); i < index.length; i++) {
+                byte[] row = rows[index[i]];
+                int offset = offset(row, EMAIL_COLUMN);
+                int length = length(row, offset);
+                if (length == NULL_LENGTH || length < probe.length
+                        || compareFolded(row, offset + 2, probe.length, probe, 0, probe.length) != 0) {
+                    break;
+                }
+                matches.add(index[i]);
+            }
+            int[] slots = matches.toArray();
+            sort(slots, (a, b) -> Long.compare(ids[a], ids[b]));
+            long from = Math.min(pageable.getOffset(), slots.length);
+            int to = (int) Math.min(from + pageable.getPageSize(), slots.length);
+            List<EmployeeDto> content = new ArrayList<>(to - (int) from);
+            for (int i = (int) from; i < to; i++) {
+                content.add(toDto(slots[i]));
+            }
+            return new SliceImpl<>(content, pageable, to < slots.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of employees
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the heap taken by the store, assuming compressed object pointers.
+     *
+     * @return the bytes held by the columns, the packed rows, the id map and the indexes
+     */
+    long heapBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 2 * arrayBytes(8L * ids.length) + arrayBytes(4L * rows.length) + rowBytes
+                    + slotsById.heapBytes() + arrayBytes(4L * freeSlots.length) + 2 * arrayBytes(8L * tombstoneIds.length);
+            for (int[] index : indexes) {
+                bytes += arrayBytes(4L * index.length);
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotLimit == ids.length) {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            rows = Arrays.copyOf(rows, capacity);
+        }
+        return slotLimit++;
+    }
+
+    // the slot no longer holds a current row, it is freed once the indexes stop referring to it
+    private void replaced(int slot) {
+        removedSlots.add(slot);
+        if (foldsIntoAscii(rows[slot])) {
+            asciiFoldingEmails--;
+        }
+    }
+
+    private void addTombstone(long id, long removedAt) {
+        if (tombstoneCount == tombstoneIds.length) {
+            long[] grownIds = new long[tombstoneCount * 2];
+            long[] grownTimes = new long[tombstoneCount * 2];
+            for (int i = 0; i < tombstoneCount; i++) {
+                grownIds[i] = tombstoneIds[(tombstoneHead + i) % tombstoneIds.length];
+                grownTimes[i] = tombstoneTimes[(tombstoneHead + i) % tombstoneIds.length];
+            }
+            tombstoneIds = grownIds;
+            tombstoneTimes = grownTimes;
+            tombstoneHead = 0;
+        }
+        int tail = (tombstoneHead + tombstoneCount) % tombstoneIds.length;
+        tombstoneIds[tail] = id;
+        tombstoneTimes[tail] = removedAt;
+        tombstoneCount++;
+    }
+
+    private void freeSlot(int slot) {
+        rowBytes -= arrayBytes(rows[slot].length);
+        rows[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private EmployeeDto toDto(int slot) {
+        byte[] row = rows[slot];
+        int lastNameOffset = offset(row, LAST_NAME_COLUMN);
+        int emailOffset = offset(row, EMAIL_COLUMN);
+        return new EmployeeDto(ids[slot], text(row, 0), text(row, lastNameOffset), text(row, emailOffset), versions[slot]);
+    }
+
+    /**
+     * Finds the first position of the email lookup index whose email is not below the probe.
+     */
+    private int lowerBound(int[] index, byte[] probe) {
+        int low = 0;
+        int high = index.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            byte[] row = rows[index[mid]];
+            int offset = offset(row, EMAIL_COLUMN);
+            int length = length(row, offset);
+            if (length != NULL_LENGTH && compareFolded(row, offset + 2, length, probe, 0, probe.length) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private SlotComparator comparator(EmployeeSortOrder order) {
+        int[] keys = order.getFields().stream().mapToInt(EmployeeStore::key).toArray();
+        return (a, b) -> {
+            for (int key : keys) {
+                int comparison = key == ID_KEY ? Long.compare(ids[a], ids[b]) : compareColumn(rows[a], rows[b], key, false);
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+            return 0;
+        };
+    }
+
+    private SlotComparator emailLookupComparator() {
+        return (a, b) -> {
+            int comparison = compareColumn(rows[a], rows[b], EMAIL_COLUMN, true);
+            return comparison != 0 ? comparison : Long.compare(ids[a], ids[b]);
+        };
+    }
+
+    private static int key(EmployeeSortField field) {
+        return switch (field) {
+            case ID -> ID_KEY;
+            case FIRST_NAME -> FIRST_NAME_COLUMN;
+            case LAST_NAME -> LAST_NAME_COLUMN;
+            case EMAIL -> EMAIL_COLUMN;
+        };
+    }
+
+    private static int compareColumn(byte[] a, byte[] b, int column, boolean folded) {
+        int offsetA = offset(a, column);
+        int offsetB = offset(b, column);
+        int lengthA = length(a, offsetA);
+        int lengthB = length(b, offsetB);
+        if (lengthA == NULL_LENGTH || lengthB == NULL_LENGTH) {
+            // nulls last, like Postgres in ascending order
+            return Boolean.compare(lengthA == NULL_LENGTH, lengthB == NULL_LENGTH);
+        }
+        if (folded) {
+            return compareFolded(a, offsetA + 2, lengthA, b, offsetB + 2, lengthB);
+        }
+        return Arrays.compareUnsigned(a, offsetA + 2, offsetA + 2 + lengthA, b, offsetB + 2, offsetB + 2 + lengthB);
+    }
+
+    private static int compareFolded(byte[] a, int offsetA, int lengthA, byte[] b, int offsetB, int lengthB) {
+        int length = Math.min(lengthA, lengthB);
+        for (int i = 0; i < length; i++) {
+            int comparison = fold(a[offsetA + i]) - fold(b[offsetB + i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return lengthA - lengthB;
+    }
+
+    private static int fold(byte value) {
+        int c = value & 0xFF;
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+
+    // whether lower() may turn a character of the email into an ASCII one, e.g. the Kelvin sign into 'k'
+    private static boolean foldsIntoAscii(byte[] row) {
+        int offset = offset(row, EMAIL_COLUMN);
+        int length = length(row, offset);
+        if (length == NULL_LENGTH) {
+            return false;
+        }
+        for (int i = offset + 2; i < offset + 2 + length; i++) {
+            if (row[i] < 0) {
+                // only decoded when it is not ASCII
+                return foldsIntoAscii(text(row, offset));
+            }
+        }
+        return false;
+    }
+
+    private static boolean foldsIntoAscii(String email) {
+        for (int i = 0; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c >= 0x80 && String.valueOf(c).toLowerCase(Locale.ROOT).chars().anyMatch(lower -> lower < 0x80)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] pack(EmployeeDto employee) {
+        byte[] firstName = bytes(employee.getFirstName());
+        byte[] lastName = bytes(employee.getLastName());
+        byte[] email = bytes(employee.getEmail());
+        byte[] row = new byte[6 + dataLength(firstName) + dataLength(lastName) + dataLength(email)];
+        int offset = put(row, 0, firstName);
+        offset = put(row, offset, lastName);
+        put(row, offset, email);
+        return row;
+    }
+
+    private static byte[] bytes(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_LENGTH) {
+            throw new IllegalArgumentException("Employee text of " + bytes.length + " bytes cannot be stored");
+        }
+        return bytes;
+    }
+
+    private static int dataLength(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static int put(byte[] row, int offset, byte[] bytes) {
+        int length = bytes == null ? NULL_LENGTH : bytes.length;
+        row[offset] = (byte) (length >>> 8);
+        row[offset + 1] = (byte) length;
+        if (bytes != null) {
+            System.arraycopy(bytes, 0, row, offset + 2, bytes.length);
+        }
+        return offset + 2 + dataLength(bytes);
+    }
+
+    private static int offset(byte[] row, int column) {
+        int offset = 0;
+        for (int i = 0; i < column; i++) {
+            int length = length(row, offset);
+            offset += 2 + (length == NULL_LENGTH ? 0 : length);
+        }
+        return offset;
+    }
+
+    private static int length(byte[] row, int offset) {
+        return (row[offset] & 0xFF) << 8 | row[offset + 1] & 0xFF;
+    }
+
+    private static String text(byte[] row, int offset) {
+        int length = length(row, offset);
+        return length == NULL_LENGTH ? null : new String(row, offset + 2, length, StandardCharsets.UTF_8);
+    }
+
+    private static long arrayBytes(long payload) {
+        return (16 + payload + 7) & ~7L;
+    }
+
+    private static int[] merge(int[] index, BitSet removed, int[] added, SlotComparator comparator) {
+        int[] merged = new int[index.length + added.length];
+        int size = 0;
+        int next = 0;
+        for (int slot : index) {
+            if (removed.get(slot)) {
+                continue;
+            }
+            while (next < added.length && comparator.compare(added[next], slot) < 0) {
+                merged[size++] = added[next++];
+            }
+            merged[size++] = slot;
+        }
+        while (next < added.length) {
+            merged[size++] = added[next++];
+        }
+        return size == merged.length ? merged : Arrays.copyOf(merged, size);
+    }
+
+    /**
+     * Sorts slots without boxing them, a merge sort that only merges halves which are not already in order, so the
+     * id index of a table read in id order is built in linear time.
+     */
+    static void sort(int[] slots, SlotComparator comparator) {
+        if (slots.length > 1) {
+            mergeSort(slots.clone(), slots, 0, slots.length, comparator);
+        }
+    }
+
+    private static void mergeSort(int[] source, int[] target, int from, int to, SlotComparator comparator) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                for (int j = i; j > from && comparator.compare(target[j - 1], target[j]) > 0; j--) {
+                    int slot = target[j];
+                    target[j] = target[j - 1];
+                    target[j - 1] = slot;
+                }
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(target, source, from, middle, comparator);
+        mergeSort(target, source, middle, to, comparator);
+        if (comparator.compare(source[middle - 1], source[middle]) <= 0) {
+            System.arraycopy(source, from, target, from, to - from);
+            return;
+        }
+        for (int i = from, left = from, right = middle; i < to; i++) {
+            if (right >= to || left < middle && comparator.compare(source[left], source[right]) <= 0) {
+                target[i] = source[left++];
+            } else {
+                target[i] = source[right++];
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface SlotComparator {
+
+        int compare(int a, int b);
+    }
+
+    private static final class IntBuffer {
+
+        private int[] values = new int[16];
+
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        void clear() {
+            size = 0;
+            if (values.length > 1024) {
+                values = new int[16];
+            }
+        }
+    }
+}
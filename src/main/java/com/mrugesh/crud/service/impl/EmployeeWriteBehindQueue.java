@@ -0,0 +1,220 @@
+package com.mrugesh.crud.service.impl;
+
+import com.mrugesh.crud.config.CacheConfig;
+import com.mrugesh.crud.config.WriteBehindProperties;
+import com.mrugesh.crud.datasource.ReadYourWritesContext;
+import com.mrugesh.crud.dto.BulkItemResultDto;
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.exception.InvalidRequestException;
+import com.mrugesh.crud.exception.ResourceConflictException;
+import com.mrugesh.crud.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups single employee creations into batched commits.
+ *
+ * <p>Callers enqueue an employee and get a {@link CompletableFuture} back. A single writer thread takes what is
+ * waiting, or waits up to {@code crud.write-behind.max-wait} for more once it holds one creation, and writes the
+ * group through the {@link EmployeeBatchWriter}: one transaction and one JDBC batch per
+ * {@value EmployeeBatchWriter#BATCH_SIZE} employees instead of one commit, and one fsync, each. Every future
+ * completes with the created employee or with the failure of its own row: a {@link ResourceConflictException}
+ * (409) for a duplicate email ID, an {@link InvalidRequestException} (400) for a row the database refuses anyway,
+ * e.g. a missing or too long value, a {@link ServiceOverloadedException} (503) when the database is unavailable and
+ * an {@link IllegalStateException} (500) otherwise.</p>
+ *
+ * <p>A created employee is handled like one created by {@code EmployeeServiceImpl#createEmployee} before its future
+ * completes: it is put in the employee cache and the read model, and the {@link ReadYourWritesContext} of the
+ * request that submitted it, captured on the request thread, pins that client's reads to the primary.</p>
+ *
+ * <p>The queue is bounded; when it is full the creation is rejected with a {@link ServiceOverloadedException}
+ * instead of letting the latency grow without limit.</p>
+ */
+@Slf4j
+public class EmployeeWriteBehindQueue implements SmartLifecycle {
+
+    private final EmployeeBatchWriter employeeBatchWriter;
+
+    private final EmployeeReadModel employeeReadModel;
+
+    private final CacheManager cacheManager;
+
+    private final Duration stickFor;
+
+    private final BlockingQueue<PendingCreation> queue;
+
+    private final int maxBatchSize;
+
+    private final long maxWaitNanos;
+
+    private DistributionSummary batchSizes;
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    /**
+     * @param stickFor how long the reads of a client stay on the primary after its creation, {@code null} without
+     *                 read replicas
+     */
+    public EmployeeWriteBehindQueue(EmployeeBatchWriter employeeBatchWriter, EmployeeReadModel employeeReadModel,
+                                    CacheManager cacheManager, WriteBehindProperties writeBehindProperties,
+                                    Duration stickFor) {
+        this.employeeBatchWriter = employeeBatchWriter;
+        this.employeeReadModel = employeeReadModel;
+        this.cacheManager = cacheManager;
+        this.stickFor = stickFor;
+        this.queue = new ArrayBlockingQueue<>(writeBehindProperties.getCapacity());
+        this.maxBatchSize = writeBehindProperties.getMaxBatchSize();
+        this.maxWaitNanos = writeBehindProperties.getMaxWait().toNanos();
+    }
+
+    /**
+     * Publishes the queue length and the size of the written groups.
+     */
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("employee.write-behind.queue.size", queue, BlockingQueue::size)
+                .description("Employee creations waiting to be written")
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("employee.write-behind.batch.size")
+                .description("Employee creations written per group")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Enqueues the creation of an employee.
+     *
+     * @param employeeDto the employee to create
+     * @return completes with the created employee, or exceptionally with the failure of its row
+     * @throws ServiceOverloadedException if the queue is full or not accepting creations
+     */
+    public CompletableFuture<EmployeeDto> submit(EmployeeDto employeeDto) {
+        PendingCreation creation = new PendingCreation(employeeDto, ReadYourWritesContext.current(), new CompletableFuture<>());
+        if (!running || !queue.offer(creation)) {
+            throw new ServiceOverloadedException("Too many employees waiting to be created, retry later");
+        }
+        return creation.result();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("employee-write-behind").daemon().start(this::drain);
+    }
+
+    @Override
+    public void stop() {
+        // stop accepting, the writer empties the queue before it exits
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // creations that slipped in while the writer was exiting
+        List<PendingCreation> leftovers = new ArrayList<>();
+        queue.drainTo(leftovers);
+        leftovers.forEach(creation -> creation.result().completeExceptionally(
+                new ServiceOverloadedException("Shutting down, retry later")));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drain() {
+        List<PendingCreation> group = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCreation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (group.size() < maxBatchSize) {
+                    queue.drainTo(group, maxBatchSize - group.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (group.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingCreation next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+                write(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                group.forEach(creation -> creation.result().completeExceptionally(e));
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingCreation> group) {
+        if (batchSizes != null) {
+            batchSizes.record(group.size());
+        }
+        try {
+            List<BulkItemResultDto> results = employeeBatchWriter.createEmployees(
+                    group.stream().map(PendingCreation::employee).toList());
+            Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+            for (int i = 0; i < group.size(); i++) {
+                BulkItemResultDto result = results.get(i);
+                if (result.getStatus() == BulkItemResultDto.Status.CREATED) {
+                    created(group.get(i), result.getEmployee(), cache);
+                } else {
+                    group.get(i).result().completeExceptionally(failure(result.getFailure(), result.getError()));
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not write {} queued employees", group.size(), ex);
+            RuntimeException failure = failure(EmployeeWriteFailures.classify(ex), "Employee could not be created");
+            group.forEach(creation -> creation.result().completeExceptionally(failure));
+        }
+    }
+
+    // the exception rendered with the status the failure of a row stands for
+    private static RuntimeException failure(BulkItemResultDto.Failure failure, String message) {
+        return switch (failure) {
+            case CONFLICT -> new ResourceConflictException(message);
+            case INVALID -> new InvalidRequestException(message);
+            case UNAVAILABLE -> new ServiceOverloadedException("Employee could not be created now, retry later");
+            case ERROR -> new IllegalStateException(message);
+        };
+    }
+
+    // the group has committed, everything a read of the client may hit is updated before its response is sent
+    private void created(PendingCreation creation, EmployeeDto employee, Cache cache) {
+        if (cache != null) {
+            cache.put(employee.getId(), employee);
+        }
+        employeeReadModel.employeeWritten(employee);
+        if (creation.readYourWrites() != null && stickFor != null) {
+            creation.readYourWrites().writeCommitted(stickFor);
+        }
+        creation.result().complete(employee);
+    }
+
+    private record PendingCreation(EmployeeDto employee, ReadYourWritesContext readYourWrites,
+                                   CompletableFuture<EmployeeDto> result) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.mrugesh.crud.service.impl;
+
+import com.mrugesh.crud.dto.BulkItemResultDto;
+import io.r2dbc.spi.R2dbcException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * Tells apart why an employee write failed, from the exception and the SQL state the database reported, so a
+ * duplicate email ID is not answered like a database outage.
+ *
+ * <p>The messages returned to clients are fixed per failure: the database message names constraints, columns and
+ * values of other rows, it is only logged.</p>
+ */
+final class EmployeeWriteFailures {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private static final String NOT_NULL_VIOLATION = "23502";
+
+    private static final String STRING_TOO_LONG = "22001";
+
+    // 22: data exception, e.g. a value too long for its column; 23: integrity constraint violation, e.g. NOT NULL
+    private static final String DATA_EXCEPTION_CLASS = "22";
+
+    private static final String INTEGRITY_VIOLATION_CLASS = "23";
+
+    // 08: connection exception, 40: transaction rollback, 53: insufficient resources, 57: operator intervention
+    private static final String[] UNAVAILABLE_CLASSES = {"08", "40", "53", "57"};
+
+    private EmployeeWriteFailures() {
+    }
+
+    /**
+     * Classifies the failure of a write.
+     *
+     * @param ex the exception the write failed with
+     * @return {@code CONFLICT} for unique and optimistic lock violations, {@code INVALID} for rows the database
+     * refuses whatever its state, {@code UNAVAILABLE} for failures worth retrying later and {@code ERROR} otherwise
+     */
+    static BulkItemResultDto.Failure classify(Throwable ex) {
+        if (ex instanceof DuplicateKeyException || ex instanceof OptimisticLockingFailureException) {
+            return BulkItemResultDto.Failure.CONFLICT;
+        }
+        String sqlState = sqlState(ex);
+        if (UNIQUE_VIOLATION.equals(sqlState)) {
+            return BulkItemResultDto.Failure.CONFLICT;
+        }
+        if (sqlState != null && (sqlState.startsWith(DATA_EXCEPTION_CLASS) || sqlState.startsWith(INTEGRITY_VIOLATION_CLASS))) {
+            return BulkItemResultDto.Failure.INVALID;
+        }
+        if (ex instanceof TransientDataAccessException || ex instanceof RecoverableDataAccessException
+                || ex instanceof DataAccessResourceFailureException || ex instanceof CannotCreateTransactionException) {
+            return BulkItemResultDto.Failure.UNAVAILABLE;
+        }
+        if (sqlState != null) {
+            for (String unavailableClass : UNAVAILABLE_CLASSES) {
+                if (sqlState.startsWith(unavailableClass)) {
+                    return BulkItemResultDto.Failure.UNAVAILABLE;
+                }
+            }
+        }
+        return BulkItemResultDto.Failure.ERROR;
+    }
+
+    /**
+     * Describes the failure of a write to the client.
+     *
+     * @param ex the exception the write failed with
+     * @return a message that does not depend on the database or its wording
+     */
+    static String describe(Throwable ex) {
+        if (ex instanceof OptimisticLockingFailureException) {
+            return "Employee has been modified concurrently";
+        }
+        String sqlState = sqlState(ex);
+        if (ex instanceof DuplicateKeyException || UNIQUE_VIOLATION.equals(sqlState)) {
+            return "Email ID is already in use";
+        }
+        if (NOT_NULL_VIOLATION.equals(sqlState)) {
+            return "First name, last name and email ID are required";
+        }
+        if (STRING_TOO_LONG.equals(sqlState)) {
+            return "A value is longer than allowed";
+        }
+        return switch (classify(ex)) {
+            case CONFLICT -> "Employee conflicts with the current data";
+            case INVALID -> "Employee violates a constraint";
+            case UNAVAILABLE -> "Database unavailable, retry later";
+            case ERROR -> "Employee could not be written";
+        };
+    }
+
+    // the SQL state of the first JDBC or R2DBC exception among the causes
+    private static String sqlState(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                return sqlException.getSQLState();
+            }
+            if (cause instanceof R2dbcException r2dbcException) {
+                return r2dbcException.getSqlState();
+            }
+        }
+        return null;
+    }
+}
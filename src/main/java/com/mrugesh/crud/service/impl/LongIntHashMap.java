@@ -0,0 +1,144 @@
+package com.mrugesh.crud.service.impl;
+
+/**
+ * Open addressing hash map from positive {@code long} keys to {@code int} values, without boxing.
+ *
+ * <p>Keys and values live in two parallel arrays probed linearly, removals shift the following entries back instead
+ * of leaving markers behind. The table is kept at most half full, about 24 bytes per entry. The map is not thread
+ * safe.</p>
+ */
+final class LongIntHashMap {
+
+    /**
+     * Returned by {@link #get(long)} for keys without a value.
+     */
+    static final int MISSING = -1;
+
+    private static final long EMPTY = 0;
+
+    private long[] keys;
+
+    private int[] values;
+
+    private int mask;
+
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param key the key, must be positive
+     * @return the value of the key, or {@link #MISSING}
+     */
+    int get(long key) {
+        for (int i = index(key); keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        return MISSING;
+    }
+
+    /**
+     * @param key the key, must be positive
+     * @param value the value to store
+     * @return the previous value of the key, or {@link #MISSING}
+     */
+    int put(long key, int value) {
+        if (key <= EMPTY) {
+            throw new IllegalArgumentException("Keys must be positive, got " + key);
+        }
+        int i = index(key);
+        for (; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                int previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return MISSING;
+    }
+
+    /**
+     * @param key the key to remove
+     * @return the value the key had, or {@link #MISSING}
+     */
+    int remove(long key) {
+        if (key <= EMPTY) {
+            return MISSING;
+        }
+        int i = index(key);
+        while (keys[i] != key) {
+            if (keys[i] == EMPTY) {
+                return MISSING;
+            }
+            i = (i + 1) & mask;
+        }
+        int removed = values[i];
+        int gap = i;
+        for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            // move an entry into the gap unless its home slot lies between the gap and its current slot
+            if (((j - index(keys[j])) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = EMPTY;
+        size--;
+        return removed;
+    }
+
+    /**
+     * @return the bytes taken by the two arrays of the table
+     */
+    long heapBytes() {
+        return 16L + 8L * keys.length + 16L + 4L * values.length;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int j = index(oldKeys[i]);
+                while (keys[j] != EMPTY) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private int index(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity < expectedSize * 2L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
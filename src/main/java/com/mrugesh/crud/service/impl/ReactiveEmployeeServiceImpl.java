@@ -0,0 +1,151 @@
+package com.mrugesh.crud.service.impl;
+
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.dto.BulkItemResultDto;
+import com.mrugesh.crud.event.EmployeesChangedEvent;
+import com.mrugesh.crud.exception.InvalidRequestException;
+import com.mrugesh.crud.exception.ResourceConflictException;
+import com.mrugesh.crud.exception.ResourceNotFoundException;
+import com.mrugesh.crud.repository.ReactiveEmployeeRepository;
+import com.mrugesh.crud.service.ReactiveEmployeeService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Implementation of the {@link ReactiveEmployeeService} interface on top of the {@link ReactiveEmployeeRepository}.
+ *
+ * <p>Nothing here blocks: every call returns as soon as the statement is sent, and the event loop thread serves
+ * other requests while the database works. Committed writes publish an {@link EmployeesChangedEvent} like the
+ * blocking service, so change feed subscribers are woken up right away.</p>
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private ReactiveEmployeeRepository reactiveEmployeeRepository;
+
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Creates a new employee.
+     *
+     * @param employeeDto the data transfer object containing employee details, its id and version are ignored
+     * @return the created {@link EmployeeDto} with the assigned ID
+     * @throws ResourceConflictException if the employee conflicts with another one, e.g. a duplicate email ID
+     * @throws InvalidRequestException if the employee violates another constraint, e.g. a missing value
+     */
+    @Override
+    public Mono<EmployeeDto> createEmployee(EmployeeDto employeeDto) {
+        return reactiveEmployeeRepository.insert(employeeDto.getFirstName(), employeeDto.getLastName(), employeeDto.getEmail())
+                .onErrorMap(DataIntegrityViolationException.class, ReactiveEmployeeServiceImpl::rejected)
+                .doOnNext(employee -> employeesChanged(employee.getId()));
+    }
+
+    /**
+     * Get Employee by id
+     *
+     * @param employeeId unique id for employee
+     * @return Employee DTO
+     * @throws ResourceNotFoundException if no employee is found with the specified ID
+     */
+    @Override
+    public Mono<EmployeeDto> getEmployeeById(Long employeeId) {
+        return reactiveEmployeeRepository.findDtoById(employeeId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Employee not exists with given id: " + employeeId)));
+    }
+
+    /**
+     * Stream all employees
+     *
+     * @return all employees ordered by id
+     */
+    @Override
+    public Flux<EmployeeDto> getAllEmployees() {
+        return reactiveEmployeeRepository.streamAllDtos();
+    }
+
+    /**
+     * Stream employees with the given email id
+     *
+     * @param email email id to match, all employees are returned when blank
+     * @return matching employees, ordered by id
+     */
+    @Override
+    public Flux<EmployeeDto> getAllEmployeesWithFilter(String email) {
+        return StringUtils.hasText(email)
+                ? reactiveEmployeeRepository.streamDtosByEmail(email)
+                : reactiveEmployeeRepository.streamAllDtos();
+    }
+
+    /**
+     * Update employee by their id
+     *
+     * @param employeeId unique id to update employee
+     * @param updatedEmployee Employee DTO holding the new fields and optionally the expected version
+     * @return Updated Employee DTO
+     * @throws ResourceNotFoundException if no employee is found with the specified ID
+     * @throws ResourceConflictException if the employee was modified since the given version
+     */
+    @Override
+    public Mono<EmployeeDto> updateEmployee(Long employeeId, EmployeeDto updatedEmployee) {
+        return reactiveEmployeeRepository.update(employeeId,
+                        updatedEmployee.getFirstName(),
+                        updatedEmployee.getLastName(),
+                        updatedEmployee.getEmail(),
+                        updatedEmployee.getVersion())
+                .switchIfEmpty(Mono.defer(() -> notUpdated(employeeId, updatedEmployee.getVersion())))
+                .doOnNext(employee -> employeesChanged(employeeId));
+    }
+
+    /**
+     * Delete Employee by id
+     *
+     * @param employeeId unique id to delete employee
+     * @param expectedVersion version the employee must still have, {@code null} to delete unconditionally
+     * @return completes once the employee is deleted
+     * @throws ResourceNotFoundException if no employee is found with the specified ID
+     * @throws ResourceConflictException if the employee was modified since the given version
+     */
+    @Override
+    public Mono<Void> deleteEmployee(Long employeeId, Long expectedVersion) {
+        return reactiveEmployeeRepository.delete(employeeId, expectedVersion)
+                .flatMap(deleted -> deleted == 0
+                        ? this.<Void>notUpdated(employeeId, expectedVersion)
+                        : Mono.<Void>fromRunnable(() -> employeesChanged(employeeId)));
+    }
+
+    private void employeesChanged(Long employeeId) {
+        applicationEventPublisher.publishEvent(new EmployeesChangedEvent(List.of(employeeId)));
+    }
+
+    /**
+     * Explains why a conditional write matched no row. The extra lookup only runs on this failure path.
+     */
+    private <T> Mono<T> notUpdated(Long employeeId, Long expectedVersion) {
+        Mono<Boolean> exists = expectedVersion == null ? Mono.just(false) : reactiveEmployeeRepository.existsById(employeeId);
+        return exists.flatMap(found -> Mono.<T>error(found
+                ? new ResourceConflictException("Employee with given id: " + employeeId
+                        + " has been modified since version " + expectedVersion)
+                : new ResourceNotFoundException("Employee not exists with given id: " + employeeId)));
+    }
+
+    // the cause is logged, the client only gets a message that does not leak database details
+    private static RuntimeException rejected(DataIntegrityViolationException ex) {
+        log.debug("Employee was rejected", ex);
+        String message = EmployeeWriteFailures.describe(ex);
+        return EmployeeWriteFailures.classify(ex) == BulkItemResultDto.Failure.CONFLICT
+                ? new ResourceConflictException(message)
+                : new InvalidRequestException(message);
+    }
+}
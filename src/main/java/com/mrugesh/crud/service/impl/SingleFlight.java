@@ -0,0 +1,70 @@
+package com.mrugesh.crud.service.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent loads of the same key: the first caller runs the load, callers arriving while it is
+ * in flight wait for and share its result or exception.
+ *
+ * <p>Waiting callers park on a {@link CompletableFuture} instead of a monitor, so virtual threads unmount while
+ * they wait, which {@code @Cacheable(sync = true)} on Caffeine (a synchronized compute) would not allow.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the loaded values
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Loads the value of a key, or joins the load already in flight for it.
+     *
+     * @param key the key to load
+     * @param loader loads the value, only called when no load of the key is in flight
+     * @return the loaded value
+     */
+    V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Stops handing the load in flight for a key to new callers, e.g. once the value has been changed.
+     * Callers already waiting still get its result.
+     *
+     * @param key the key to forget
+     */
+    void forget(K key) {
+        flights.remove(key);
+    }
+
+    private static <V> V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
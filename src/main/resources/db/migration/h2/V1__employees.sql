@@ -0,0 +1,15 @@
+-- Employees on the embedded H2 database of tests, benchmarks and load tests. H2 has neither hash partitions
+-- nor SQL triggers: the table is plain, email ids are unique on it directly and employee_emails is a view,
+-- so the same queries run unchanged.
+
+CREATE SEQUENCE IF NOT EXISTS employees_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE employees (
+    id         bigint       NOT NULL PRIMARY KEY,
+    first_name varchar(255),
+    last_name  varchar(255),
+    email_id   varchar(255) NOT NULL UNIQUE,
+    version    bigint       DEFAULT 0 NOT NULL
+);
+
+CREATE VIEW employee_emails AS SELECT email_id, id AS employee_id FROM employees;
@@ -0,0 +1,19 @@
+-- Change counter and change feed outbox on H2. Without the Postgres triggers the counter never moves and the
+-- outbox stays empty, which is fine for tests and the load generator: they never send If-None-Match.
+CREATE TABLE employees_change_counter (
+    id    smallint PRIMARY KEY,
+    "value" bigint NOT NULL
+);
+
+INSERT INTO employees_change_counter (id, "value") VALUES (1, 0);
+
+CREATE TABLE employee_changes (
+    seq         bigint       PRIMARY KEY,
+    employee_id bigint       NOT NULL,
+    type        varchar(16)  NOT NULL,
+    first_name  varchar(255),
+    last_name   varchar(255),
+    email_id    varchar(255),
+    version     bigint,
+    changed_at  timestamp(6) with time zone NOT NULL
+);
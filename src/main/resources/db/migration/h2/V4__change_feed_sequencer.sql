@@ -0,0 +1,12 @@
+-- Same shape as the Postgres outbox after its V4: changes are keyed by an id drawn from a sequence and get their
+-- feed position later, so seq is a nullable unique column. H2 has no trigger appending to the outbox and no
+-- sequencer numbering it, the table only has to match the EmployeeChange mapping.
+
+CREATE SEQUENCE employee_changes_id_seq;
+
+ALTER TABLE employee_changes DROP PRIMARY KEY;
+ALTER TABLE employee_changes ALTER COLUMN seq DROP NOT NULL;
+ALTER TABLE employee_changes ADD COLUMN id bigint DEFAULT NEXT VALUE FOR employee_changes_id_seq NOT NULL BEFORE seq;
+ALTER TABLE employee_changes ADD PRIMARY KEY (id);
+
+CREATE UNIQUE INDEX employee_changes_seq_idx ON employee_changes (seq);
@@ -0,0 +1,6 @@
+-- Pruning mark of the outbox, as on Postgres. The H2 outbox stays empty, the mark stays 0.
+CREATE TABLE employee_changes_retention (
+    id             smallint PRIMARY KEY,
+    pruned_through bigint   NOT NULL
+);
+INSERT INTO employee_changes_retention (id, pruned_through) VALUES (1, 0);
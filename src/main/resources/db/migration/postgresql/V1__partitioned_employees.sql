@@ -0,0 +1,91 @@
+-- Employees, hash partitioned on id, and the email lookup that keeps email ids unique across partitions.
+--
+-- A primary key or unique constraint on a partitioned table has to contain the partition key, so email_id
+-- cannot be unique on employees itself. employee_emails holds one row per email id and is maintained by a
+-- trigger in the writing transaction: its primary key rejects duplicates (SQLSTATE 23505, like the former
+-- unique constraint), and lookups by email id read the employee id there first, so only one partition of
+-- employees is visited.
+--
+-- Databases created by ddl-auto, before migrations, hold a plain employees table: it is renamed and its rows
+-- are moved into the partitions at the end of this script. Rows are spread by id, so 8 partitions is a fixed
+-- choice, changing it means rewriting the table.
+
+CREATE SEQUENCE IF NOT EXISTS employees_seq START WITH 1 INCREMENT BY 50;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class
+                WHERE oid = to_regclass('employees') AND relkind = 'r') THEN
+        ALTER TABLE employees RENAME TO employees_unpartitioned;
+        -- frees the name of the primary key index for the new table
+        IF EXISTS (SELECT 1 FROM pg_constraint
+                    WHERE conname = 'employees_pkey' AND conrelid = to_regclass('employees_unpartitioned')) THEN
+            ALTER TABLE employees_unpartitioned RENAME CONSTRAINT employees_pkey TO employees_unpartitioned_pkey;
+        END IF;
+    END IF;
+END
+$$;
+
+CREATE TABLE employees (
+    id         bigint       NOT NULL,
+    first_name varchar(255),
+    last_name  varchar(255),
+    email_id   varchar(255) NOT NULL,
+    version    bigint       DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id)
+) PARTITION BY HASH (id);
+
+CREATE TABLE employees_p0 PARTITION OF employees FOR VALUES WITH (MODULUS 8, REMAINDER 0);
+CREATE TABLE employees_p1 PARTITION OF employees FOR VALUES WITH (MODULUS 8, REMAINDER 1);
+CREATE TABLE employees_p2 PARTITION OF employees FOR VALUES WITH (MODULUS 8, REMAINDER 2);
+CREATE TABLE employees_p3 PARTITION OF employees FOR VALUES WITH (MODULUS 8, REMAINDER 3);
+CREATE TABLE employees_p4 PARTITION OF employees FOR VALUES WITH (MODULUS 8, REMAINDER 4);
+CREATE TABLE employees_p5 PARTITION OF employees FOR VALUES WITH (MODULUS 8, REMAINDER 5);
+CREATE TABLE employees_p6 PARTITION OF employees FOR VALUES WITH (MODULUS 8, REMAINDER 6);
+CREATE TABLE employees_p7 PARTITION OF employees FOR VALUES WITH (MODULUS 8, REMAINDER 7);
+
+-- mapped by EmployeeEmail, the application only reads it
+CREATE TABLE employee_emails (
+    email_id    varchar(255) PRIMARY KEY,
+    employee_id bigint       NOT NULL
+);
+
+-- Runs for every row, before the row is visible: a duplicate email id fails the write that brings it in.
+-- Updates that keep the email id leave the lookup alone.
+CREATE OR REPLACE FUNCTION employees_sync_email() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND (TG_OP = 'DELETE' OR OLD.email_id IS DISTINCT FROM NEW.email_id) THEN
+        DELETE FROM employee_emails WHERE email_id = OLD.email_id AND employee_id = OLD.id;
+    END IF;
+    IF TG_OP = 'INSERT' OR TG_OP = 'UPDATE' AND OLD.email_id IS DISTINCT FROM NEW.email_id THEN
+        INSERT INTO employee_emails (email_id, employee_id) VALUES (NEW.email_id, NEW.id);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER employees_sync_email_trg
+    AFTER INSERT OR UPDATE OF email_id OR DELETE ON employees
+    FOR EACH ROW EXECUTE FUNCTION employees_sync_email();
+
+CREATE OR REPLACE FUNCTION employees_truncate_emails() RETURNS trigger AS $$
+BEGIN
+    TRUNCATE employee_emails;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER employees_truncate_emails_trg
+    AFTER TRUNCATE ON employees
+    FOR EACH STATEMENT EXECUTE FUNCTION employees_truncate_emails();
+
+DO $$
+BEGIN
+    IF to_regclass('employees_unpartitioned') IS NOT NULL THEN
+        INSERT INTO employees (id, first_name, last_name, email_id, version)
+        SELECT id, first_name, last_name, email_id, coalesce(version, 0) FROM employees_unpartitioned;
+        -- the triggers of schema-postgresql.sql go with the table
+        DROP TABLE employees_unpartitioned;
+    END IF;
+END
+$$;
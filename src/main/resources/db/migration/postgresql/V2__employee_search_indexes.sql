@@ -0,0 +1,23 @@
+-- Indexes backing GET /api/employees/search and the sorted listings. Indexes of the partitioned table are
+-- created on every partition, a query scans each partition's index and merges the results.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- prefix matches: lower(column) LIKE 'abc%'
+CREATE INDEX employees_first_name_prefix_idx ON employees (lower(first_name) text_pattern_ops);
+CREATE INDEX employees_last_name_prefix_idx ON employees (lower(last_name) text_pattern_ops);
+CREATE INDEX employees_email_prefix_idx ON employees (lower(email_id) text_pattern_ops);
+
+-- substring and fuzzy matches: lower(column) LIKE '%abc%'
+CREATE INDEX employees_first_name_trgm_idx ON employees USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX employees_last_name_trgm_idx ON employees USING gin (lower(last_name) gin_trgm_ops);
+CREATE INDEX employees_email_trgm_idx ON employees USING gin (lower(email_id) gin_trgm_ops);
+
+-- Composite indexes for the orderings whitelisted in EmployeeSortOrder. Each ends with id, the
+-- tiebreaker appended to every sort, so ORDER BY ... LIMIT is a merge of per-partition index scans
+-- instead of a sort.
+CREATE INDEX employees_first_name_sort_idx ON employees (first_name, id);
+CREATE INDEX employees_last_name_sort_idx ON employees (last_name, id);
+CREATE INDEX employees_email_sort_idx ON employees (email_id, id);
+CREATE INDEX employees_last_name_first_name_sort_idx ON employees (last_name, first_name, id);
+CREATE INDEX employees_first_name_last_name_sort_idx ON employees (first_name, last_name, id);
@@ -0,0 +1,59 @@
+-- Change counter behind the ETags of the employee collections and the sequence of the change feed.
+-- Both tables may already exist in databases created before migrations, their rows are kept.
+CREATE TABLE IF NOT EXISTS employees_change_counter (
+    id    smallint PRIMARY KEY CHECK (id = 1),
+    value bigint   NOT NULL
+);
+INSERT INTO employees_change_counter (id, value) VALUES (1, 0) ON CONFLICT (id) DO NOTHING;
+
+-- Outbox of the change feed (mapped by EmployeeChange), appended to in the writing transaction.
+CREATE TABLE IF NOT EXISTS employee_changes (
+    seq         bigint       PRIMARY KEY,
+    employee_id bigint       NOT NULL,
+    type        varchar(16)  NOT NULL,
+    first_name  varchar(255),
+    last_name   varchar(255),
+    email_id    varchar(255),
+    version     bigint,
+    changed_at  timestamp(6) with time zone NOT NULL
+);
+
+-- Every changed row bumps the counter and records the change under the new value. The counter row
+-- stays locked until the writing transaction ends, so sequence numbers are gap free and become visible
+-- in commit order: a consumer resuming after seq N can never miss a change committed later with a
+-- smaller number. The price is that writing transactions queue on that row, and two multi-row
+-- transactions touching the same employees in a different order may deadlock, in which case Postgres
+-- aborts one and EmployeeBatchWriter replays its items one by one.
+CREATE OR REPLACE FUNCTION employees_record_change() RETURNS trigger AS $$
+DECLARE
+    next_seq bigint;
+BEGIN
+    UPDATE employees_change_counter SET value = value + 1 WHERE id = 1 RETURNING value INTO next_seq;
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO employee_changes (seq, employee_id, type, version, changed_at)
+        VALUES (next_seq, OLD.id, 'DELETED', OLD.version, now());
+    ELSE
+        INSERT INTO employee_changes (seq, employee_id, type, first_name, last_name, email_id, version, changed_at)
+        VALUES (next_seq, NEW.id, CASE TG_OP WHEN 'INSERT' THEN 'CREATED' ELSE 'UPDATED' END,
+                NEW.first_name, NEW.last_name, NEW.email_id, NEW.version, now());
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- TRUNCATE has no rows to record, it only invalidates the collection ETags.
+CREATE OR REPLACE FUNCTION employees_bump_change_counter() RETURNS trigger AS $$
+BEGIN
+    UPDATE employees_change_counter SET value = value + 1 WHERE id = 1;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- Row triggers of the partitioned table are cloned onto every partition.
+CREATE TRIGGER employees_record_change_trg
+    AFTER INSERT OR UPDATE OR DELETE ON employees
+    FOR EACH ROW EXECUTE FUNCTION employees_record_change();
+
+CREATE TRIGGER employees_truncate_trg
+    AFTER TRUNCATE ON employees
+    FOR EACH STATEMENT EXECUTE FUNCTION employees_bump_change_counter();
@@ -0,0 +1,47 @@
+-- Feed positions are assigned after commit instead of inside every writing transaction.
+--
+-- Until now each changed row took its position from the counter row with UPDATE ... RETURNING, which held that
+-- row locked until commit: all writers queued on it. Changed rows now take an id from a sequence, which never
+-- blocks, and wait with seq NULL. EmployeeChangeSequencer numbers the committed ones in id order from
+-- employee_changes_seq, one run at a time under an advisory lock. A run only sees committed rows and runs are
+-- serialized, so a row can never get a position below one a consumer has already read. Rows of the same
+-- employee keep their order: a second write of a row waits for the first transaction to end before it draws
+-- its id.
+
+CREATE SEQUENCE employee_changes_id_seq;
+CREATE SEQUENCE employee_changes_seq;
+
+ALTER TABLE employee_changes ADD COLUMN id bigint;
+-- existing changes keep their positions and their order
+UPDATE employee_changes SET id = seq;
+SELECT setval('employee_changes_id_seq', (SELECT coalesce(max(id), 0) + 1 FROM employee_changes), false);
+SELECT setval('employee_changes_seq', (SELECT coalesce(max(seq), 0) + 1 FROM employee_changes), false);
+
+ALTER TABLE employee_changes
+    DROP CONSTRAINT employee_changes_pkey,
+    ALTER COLUMN id SET DEFAULT nextval('employee_changes_id_seq'),
+    ALTER COLUMN id SET NOT NULL,
+    ALTER COLUMN seq DROP NOT NULL,
+    ADD PRIMARY KEY (id);
+ALTER SEQUENCE employee_changes_id_seq OWNED BY employee_changes.id;
+
+-- range scans of the consumers
+CREATE UNIQUE INDEX employee_changes_seq_idx ON employee_changes (seq);
+-- the rows still waiting for the sequencer
+CREATE INDEX employee_changes_unsequenced_idx ON employee_changes (id) WHERE seq IS NULL;
+
+-- The counter row behind the collection ETags is still bumped here, without reading it back.
+CREATE OR REPLACE FUNCTION employees_record_change() RETURNS trigger AS $$
+BEGIN
+    UPDATE employees_change_counter SET value = value + 1 WHERE id = 1;
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO employee_changes (employee_id, type, version, changed_at)
+        VALUES (OLD.id, 'DELETED', OLD.version, now());
+    ELSE
+        INSERT INTO employee_changes (employee_id, type, first_name, last_name, email_id, version, changed_at)
+        VALUES (NEW.id, CASE TG_OP WHEN 'INSERT' THEN 'CREATED' ELSE 'UPDATED' END,
+                NEW.first_name, NEW.last_name, NEW.email_id, NEW.version, now());
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,21 @@
+-- Writers no longer bump the counter row, it serialized every writing transaction on the table.
+--
+-- The collection ETags are derived from the outbox instead (see EmployeeRepository#getChangeCount): the counter
+-- row, now only bumped by TRUNCATE and the load test seeder, plus the last feed position, plus the number of
+-- changes still waiting for a position. A commit adds a waiting change, and numbering a change raises the last
+-- position at least as much as it lowers the waiting ones, so the sum grows with every commit and never goes
+-- back. It is transactional, read in the same snapshot as the rows it stands for: unlike a sequence, a write
+-- still in flight cannot move it ahead of the rows a reader sees.
+CREATE OR REPLACE FUNCTION employees_record_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO employee_changes (employee_id, type, version, changed_at)
+        VALUES (OLD.id, 'DELETED', OLD.version, now());
+    ELSE
+        INSERT INTO employee_changes (employee_id, type, first_name, last_name, email_id, version, changed_at)
+        VALUES (NEW.id, CASE TG_OP WHEN 'INSERT' THEN 'CREATED' ELSE 'UPDATED' END,
+                NEW.first_name, NEW.last_name, NEW.email_id, NEW.version, now());
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,11 @@
+-- The outbox is pruned by EmployeeChangePruner: numbered changes older than crud.change-feed.retention are
+-- deleted, the last numbered change is always kept so the change counter never goes back.
+--
+-- pruned_through is the highest position deleted so far. A consumer resuming below it has missed changes and is
+-- told to resync; it is raised in the transaction deleting the rows, so a reader that finds rows missing also
+-- finds the raised mark.
+CREATE TABLE employee_changes_retention (
+    id             smallint PRIMARY KEY CHECK (id = 1),
+    pruned_through bigint   NOT NULL
+);
+INSERT INTO employee_changes_retention (id, pruned_through) VALUES (1, 0);
@@ -0,0 +1,98 @@
+package com.mrugesh.crud.aspect;
+
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.exception.ServiceOverloadedException;
+import com.mrugesh.crud.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs as many concurrent service calls as the {@link RepositoryBulkheadAspect} admits and checks that the service
+ * calls they make inside their transaction reuse their permits, while calls beyond the limit are rejected.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "crud.bulkhead.enabled=true",
+        "crud.bulkhead.max-concurrent-calls=" + RepositoryBulkheadAspectTest.MAX_CONCURRENT_CALLS,
+        "crud.bulkhead.acquire-timeout=500ms"
+})
+@ActiveProfiles("h2")
+class RepositoryBulkheadAspectTest {
+
+    static final int MAX_CONCURRENT_CALLS = 3;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private RepositoryBulkheadAspect repositoryBulkheadAspect;
+
+    @Test
+    void nestedCallsReuseThePermitOfTheOuterCall() throws Exception {
+        // every caller holds a permit before any of them reads the listing
+        CyclicBarrier allHoldingPermits = new CyclicBarrier(MAX_CONCURRENT_CALLS);
+        List<Future<List<EmployeeDto>>> reads = new ArrayList<>();
+        try (ExecutorService callers = Executors.newFixedThreadPool(MAX_CONCURRENT_CALLS)) {
+            for (int i = 0; i < MAX_CONCURRENT_CALLS; i++) {
+                reads.add(callers.submit(() -> employeeService.readWithChangeCount(changeCount -> {
+                    await(allHoldingPermits);
+                    return employeeService.getAllEmployees();
+                })));
+            }
+            for (Future<List<EmployeeDto>> read : reads) {
+                assertThat(read.get(10, TimeUnit.SECONDS)).isNotNull();
+            }
+        }
+        assertThat(repositoryBulkheadAspect.availablePermits()).isEqualTo(MAX_CONCURRENT_CALLS);
+    }
+
+    @Test
+    void callsBeyondTheLimitAreRejected() throws Exception {
+        CountDownLatch allHoldingPermits = new CountDownLatch(MAX_CONCURRENT_CALLS);
+        CountDownLatch done = new CountDownLatch(1);
+        try (ExecutorService callers = Executors.newFixedThreadPool(MAX_CONCURRENT_CALLS)) {
+            for (int i = 0; i < MAX_CONCURRENT_CALLS; i++) {
+                callers.submit(() -> employeeService.readWithChangeCount(changeCount -> {
+                    allHoldingPermits.countDown();
+                    await(done);
+                    return changeCount;
+                }));
+            }
+            assertThat(allHoldingPermits.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(employeeService::getAllEmployees).isInstanceOf(ServiceOverloadedException.class);
+            done.countDown();
+        }
+        assertThat(repositoryBulkheadAspect.availablePermits()).isEqualTo(MAX_CONCURRENT_CALLS);
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
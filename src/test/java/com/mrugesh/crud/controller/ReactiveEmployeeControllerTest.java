@@ -0,0 +1,112 @@
+package com.mrugesh.crud.controller;
+
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.mapper.ETagMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the reactive employee API on Netty over R2DBC, against the embedded H2 database the JDBC side created.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"h2", "reactive"})
+class ReactiveEmployeeControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void createdEmployeeCanBeReadUpdatedAndDeleted() {
+        EmployeeDto created = create("Ada", "Lovelace");
+        assertThat(created.getId()).isNotNull();
+        assertThat(created.getVersion()).isZero();
+
+        webTestClient.get().uri("/api/employees/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", ETagMapper.mapToETag(created.getVersion()))
+                .expectBody(EmployeeDto.class)
+                .value(employee -> assertThat(employee.getEmail()).isEqualTo(created.getEmail()));
+
+        created.setLastName("King");
+        webTestClient.put().uri("/api/employees/{id}", created.getId())
+                .bodyValue(created)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(EmployeeDto.class)
+                .value(employee -> {
+                    assertThat(employee.getLastName()).isEqualTo("King");
+                    assertThat(employee.getVersion()).isEqualTo(1L);
+                });
+
+        webTestClient.delete().uri("/api/employees/{id}", created.getId())
+                .header("If-Match", ETagMapper.mapToETag(created.getVersion()))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        webTestClient.delete().uri("/api/employees/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri("/api/employees/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.detail").isEqualTo("Employee not exists with given id: " + created.getId());
+    }
+
+    @Test
+    void employeesAreStreamedAsNdjsonInIdOrder() {
+        List<Long> createdIds = List.of(create("Grace", "Hopper").getId(), create("Alan", "Turing").getId(),
+                create("Edsger", "Dijkstra").getId());
+
+        List<Long> streamedIds = webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(EmployeeDto.class)
+                .getResponseBody()
+                .map(EmployeeDto::getId)
+                .collectList()
+                .block();
+
+        assertThat(streamedIds).isSorted().containsAll(createdIds);
+    }
+
+    @Test
+    void filterStreamsTheEmployeeWithTheEmail() {
+        EmployeeDto created = create("Barbara", "Liskov");
+
+        webTestClient.get().uri(uri -> uri.path("/api/employees/filter").queryParam("email", created.getEmail()).build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(EmployeeDto.class)
+                .value(employees -> assertThat(employees).extracting(EmployeeDto::getId).containsExactly(created.getId()));
+    }
+
+    private EmployeeDto create(String firstName, String lastName) {
+        EmployeeDto employee = new EmployeeDto(null, firstName, lastName,
+                firstName.toLowerCase() + "." + UUID.randomUUID() + "@example.com", null);
+        return webTestClient.post().uri("/api/employees")
+                .bodyValue(employee)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(EmployeeDto.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
@@ -0,0 +1,113 @@
+package com.mrugesh.crud.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes transactions between two in-memory H2 databases standing in for the primary and a replica. Each database
+ * answers {@code select name from node} with its own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final List<Instant> pinnedUntil = new ArrayList<>();
+
+    private DataSource primary;
+
+    private DataSource replica;
+
+    @BeforeEach
+    void openContext() {
+        primary = database(ReplicaPools.PRIMARY);
+        replica = database("replica-1");
+        ReadYourWritesContext.open(null, pinnedUntil::add);
+    }
+
+    @AfterEach
+    void closeContext() {
+        ReadYourWritesContext.close();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        Routing routing = new Routing(Map.of("replica-1", replica));
+
+        assertThat(routing.read()).isEqualTo("replica-1");
+        assertThat(routing.write()).isEqualTo(ReplicaPools.PRIMARY);
+    }
+
+    @Test
+    void readsStayOnThePrimaryAfterAWrite() {
+        Routing routing = new Routing(Map.of("replica-1", replica));
+
+        routing.write();
+
+        assertThat(pinnedUntil).hasSize(1);
+        assertThat(routing.read()).isEqualTo(ReplicaPools.PRIMARY);
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaIsDown() {
+        DataSource missing = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";IFEXISTS=TRUE");
+        Routing routing = new Routing(Map.of("replica-1", missing));
+
+        assertThat(routing.read()).isEqualTo(ReplicaPools.PRIMARY);
+        assertThat(routing.pools.isHealthy("replica-1")).isFalse();
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table node (name varchar(32))");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+
+    private final class Routing {
+
+        private final ReplicaPools pools;
+
+        private final JdbcTemplate jdbcTemplate;
+
+        private final TransactionTemplate readWrite;
+
+        private final TransactionTemplate readOnly;
+
+        private Routing(Map<String, DataSource> replicas) {
+            pools = new ReplicaPools(primary, replicas, Duration.ofMinutes(1));
+            DataSource dataSource = new LazyConnectionDataSourceProxy(
+                    new ReplicaRoutingDataSource(pools, Duration.ofMinutes(1)));
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            jdbcTemplate = new JdbcTemplate(dataSource);
+            readWrite = new TransactionTemplate(transactionManager);
+            readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+        }
+
+        private String read() {
+            return readOnly.execute(status -> jdbcTemplate.queryForObject("select name from node", String.class));
+        }
+
+        private String write() {
+            return readWrite.execute(status -> {
+                jdbcTemplate.update("update node set name = name");
+                return jdbcTemplate.queryForObject("select name from node", String.class);
+            });
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.mrugesh.crud.repository;
+
+import com.mrugesh.crud.repository.sort.EmployeeSortOrder;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies with {@code EXPLAIN} that every whitelisted {@link EmployeeSortOrder} is served by an index scan,
+ * without a sequential scan or a sort node, and that statements naming an id or an email id touch a single
+ * partition of {@code employees}, against a real Postgres started through Testcontainers.
+ *
+ * <p>Repository reads are explained as Hibernate emits them: the statements are captured by a listener on the
+ * datasource-proxy and explained with the parameters they were bound to.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EmployeeQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final Pattern SORT_NODE = Pattern.compile("^\\s*(->\\s+)?(Incremental\\s+)?Sort\\s+\\(");
+
+    private static final Pattern PARTITION = Pattern.compile("\\bon (employees_p\\d+)\\b");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeAll
+    void seedEmployees() {
+        jdbcTemplate.execute("""
+                INSERT INTO employees (id, first_name, last_name, email_id, version)
+                SELECT g, 'First' || (g % 1000), 'Last' || (g % 5000), 'employee' || g || '@example.com', 0
+                  FROM generate_series(1, 50000) AS g
+                """);
+        jdbcTemplate.execute("ANALYZE employees");
+        jdbcTemplate.execute("ANALYZE employee_emails");
+    }
+
+    static Stream<Arguments> sortOrders() {
+        return Arrays.stream(EmployeeSortOrder.values())
+                .flatMap(order -> Stream.of(Sort.Direction.values()).map(direction -> Arguments.of(order, direction)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sortOrders")
+    void sortOrderIsServedByAnIndexScan(EmployeeSortOrder sortOrder, Sort.Direction direction) {
+        CapturedStatement statement = captureSelect(() ->
+                employeeRepository.findDtos(null, PageRequest.of(10, 20, sortOrder.toSort(direction))));
+
+        List<String> plan = explain("EXPLAIN", statement);
+
+        assertThat(plan).as("plan of %s:%n%s", statement.sql(), String.join("\n", plan))
+                .noneMatch(line -> line.contains("Seq Scan"))
+                .noneMatch(line -> SORT_NODE.matcher(line).find())
+                .anyMatch(line -> line.contains("Index Scan") || line.contains("Index Only Scan"));
+    }
+
+    @Test
+    void lookupByIdTouchesOnePartition() {
+        CapturedStatement statement = captureSelect(() -> employeeRepository.findDtoById(4242L));
+
+        List<String> plan = explain("EXPLAIN", statement);
+
+        assertThat(scannedPartitions(plan)).as("plan of %s:%n%s", statement.sql(), String.join("\n", plan)).hasSize(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "UPDATE employees SET first_name = 'Changed', version = version + 1 WHERE id = 4242 AND version = 0",
+            "DELETE FROM employees WHERE id = 4242 AND version = 0"
+    })
+    void statementByIdTouchesOnePartition(String statement) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + statement, String.class);
+
+        assertThat(scannedPartitions(plan)).as("plan of %s:%n%s", statement, String.join("\n", plan)).hasSize(1);
+    }
+
+    @Test
+    void lookupByEmailTouchesOnePartition() {
+        // the id is read from the lookup while the statement runs, the other partitions are pruned then
+        CapturedStatement statement = captureSelect(() ->
+                employeeRepository.findAllDtosByEmail("employee4242@example.com"));
+
+        List<String> plan = explain("EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF)", statement);
+
+        List<String> executed = plan.stream().filter(line -> !line.contains("never executed")).toList();
+        assertThat(scannedPartitions(executed)).as("plan:%n%s", String.join("\n", plan)).hasSize(1);
+        assertThat(plan).noneMatch(line -> line.contains("Seq Scan"));
+    }
+
+    @Test
+    void countEstimateAddsUpThePartitions() {
+        assertThat(employeeRepository.estimateCount()).isBetween(45_000L, 55_000L);
+    }
+
+    /**
+     * Runs a repository read and returns the one query it sent to the database.
+     */
+    private CapturedStatement captureSelect(Runnable read) {
+        assertThat(dataSource).isInstanceOf(ProxyDataSource.class);
+        List<CapturedStatement> captured = new ArrayList<>();
+        Thread reader = Thread.currentThread();
+        QueryExecutionListener listener = new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                // background jobs share the data source
+                if (Thread.currentThread() != reader) {
+                    return;
+                }
+                for (QueryInfo queryInfo : queryInfoList) {
+                    List<List<ParameterSetOperation>> parameters = queryInfo.getParametersList();
+                    captured.add(new CapturedStatement(queryInfo.getQuery(),
+                            parameters.isEmpty() ? List.of() : List.copyOf(parameters.get(0))));
+                }
+            }
+        };
+        ProxyDataSource proxy = (ProxyDataSource) dataSource;
+        proxy.getProxyConfig().getQueryListener().addListener(listener);
+        try {
+            read.run();
+        } finally {
+            proxy.getProxyConfig().getQueryListener().removeListener(listener);
+        }
+        List<CapturedStatement> selects = captured.stream()
+                .filter(statement -> statement.sql().trim().toLowerCase().startsWith("select"))
+                .toList();
+        assertThat(selects).as("queries sent: %s", captured).hasSize(1);
+        return selects.get(0);
+    }
+
+    /**
+     * Explains a captured statement, binding the parameters it was executed with.
+     */
+    private List<String> explain(String explain, CapturedStatement statement) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement explained = connection.prepareStatement(explain + " " + statement.sql());
+            for (ParameterSetOperation parameter : statement.parameters()) {
+                Method setter = parameter.getMethod();
+                try {
+                    setter.invoke(explained, parameter.getArgs());
+                } catch (IllegalAccessException | InvocationTargetException ex) {
+                    throw new IllegalStateException("Cannot bind " + setter.getName() + " of " + statement.sql(), ex);
+                }
+            }
+            return explained;
+        }, (resultSet, rowNum) -> resultSet.getString(1));
+    }
+
+    private static Set<String> scannedPartitions(List<String> plan) {
+        return plan.stream()
+                .map(PARTITION::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> matcher.group(1))
+                .collect(Collectors.toSet());
+    }
+
+    private record CapturedStatement(String sql, List<ParameterSetOperation> parameters) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.mrugesh.crud.service;
+
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.dto.EmployeePageDto;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fails the build when a virtual thread gets pinned to its carrier, i.e. blocks inside a {@code synchronized}
+ * section, somewhere on the JDBC path (service, Hibernate, Hikari or the Postgres driver).
+ *
+ * <p>Pinning is detected through the JFR {@code jdk.VirtualThreadPinned} event. The calls run against a real
+ * Postgres, so the frames checked are those of the Postgres driver, Hikari and Hibernate as deployed.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("virtual-threads")
+@Testcontainers(disabledWithoutDocker = true)
+class VirtualThreadPinningTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final List<String> JDBC_PATH_PACKAGES = List.of(
+            "com.mrugesh.crud.", "org.hibernate.", "com.zaxxer.hikari.", "org.postgresql.");
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Test
+    void jdbcPathDoesNotPinVirtualThreads() throws Exception {
+        List<RecordedEvent> pinnedEvents = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent(PINNED_EVENT, pinnedEvents::add);
+            recording.startAsync();
+
+            // many more callers than pooled connections, so threads really park while waiting for one
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> calls = new ArrayList<>();
+                for (int i = 0; i < 200; i++) {
+                    int index = i;
+                    calls.add(executor.submit(() -> {
+                        EmployeeDto employee = employeeService.createEmployee(new EmployeeDto(null, "First" + index,
+                                "Last" + index, "pinning" + index + "@example.com", null));
+                        employeeService.getEmployeeById(employee.getId());
+                        employeeService.getAllEmployeesWithPagination(0, 20, EmployeePageDto.Total.EXACT);
+                    }));
+                }
+                for (Future<?> call : calls) {
+                    call.get();
+                }
+            }
+            recording.stop();
+        }
+
+        List<String> pinnedOnJdbcPath = pinnedEvents.stream()
+                .filter(VirtualThreadPinningTest::isOnJdbcPath)
+                .map(VirtualThreadPinningTest::describe)
+                .toList();
+        assertThat(pinnedOnJdbcPath).as("virtual threads pinned on the JDBC path").isEmpty();
+    }
+
+    private static boolean isOnJdbcPath(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return false;
+        }
+        return event.getStackTrace().getFrames().stream()
+                .map(frame -> frame.getMethod().getType().getName())
+                .anyMatch(type -> JDBC_PATH_PACKAGES.stream().anyMatch(type::startsWith));
+    }
+
+    private static String describe(RecordedEvent event) {
+        return event.getStackTrace().getFrames().stream()
+                .map(VirtualThreadPinningTest::describe)
+                .collect(Collectors.joining("\n\tat ", "pinned for " + event.getDuration() + "\n\tat ", ""));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
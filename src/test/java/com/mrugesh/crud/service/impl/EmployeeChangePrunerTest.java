@@ -0,0 +1,78 @@
+package com.mrugesh.crud.service.impl;
+
+import com.mrugesh.crud.dto.EmployeeChangeBatchDto;
+import com.mrugesh.crud.repository.EmployeeChangeRepository;
+import com.mrugesh.crud.repository.EmployeeRepository;
+import com.mrugesh.crud.service.EmployeeChangeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks against a real Postgres that old changes are deleted from the outbox without moving the change counter
+ * back, and that a consumer resuming before the deleted changes is told to resync.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class EmployeeChangePrunerTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private EmployeeChangePruner employeeChangePruner;
+
+    @Autowired
+    private EmployeeChangeSequencer employeeChangeSequencer;
+
+    @Autowired
+    private EmployeeChangeService employeeChangeService;
+
+    @Autowired
+    private EmployeeChangeRepository employeeChangeRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void oldChangesArePrunedAndLateConsumersResync() {
+        long before = employeeChangeRepository.findLastSeq();
+        for (long id = 910_001; id <= 910_003; id++) {
+            jdbcTemplate.update("INSERT INTO employees (id, first_name, last_name, email_id, version) VALUES (?, 'First', 'Last', ?, 0)",
+                    id, "employee" + id + "@example.com");
+        }
+        employeeChangeSequencer.assignPositions(1000);
+        jdbcTemplate.update("UPDATE employee_changes SET changed_at = now() - interval '30 days'");
+        long lastSeq = employeeChangeRepository.findLastSeq();
+        long changeCount = employeeRepository.getChangeCount().getTotal();
+
+        assertThat(employeeChangePruner.prune(Instant.now().minusSeconds(60), 1000)).isPositive();
+
+        // the last change is kept, the counter stays where it was
+        assertThat(employeeChangeRepository.findLastSeq()).isEqualTo(lastSeq);
+        assertThat(employeeRepository.getChangeCount().getTotal()).isEqualTo(changeCount);
+        assertThat(employeeChangePruner.getPrunedThrough()).isGreaterThan(before).isLessThan(lastSeq);
+
+        EmployeeChangeBatchDto late = employeeChangeService.getChanges(before, 1000);
+        assertThat(late.isResync()).isTrue();
+        assertThat(late.getChanges()).isEmpty();
+        assertThat(late.getNextSeq()).isEqualTo(lastSeq);
+
+        EmployeeChangeBatchDto current = employeeChangeService.getChanges(employeeChangePruner.getPrunedThrough(), 1000);
+        assertThat(current.isResync()).isFalse();
+        assertThat(current.getChanges()).hasSize(1);
+    }
+}
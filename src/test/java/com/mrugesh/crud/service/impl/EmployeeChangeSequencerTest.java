@@ -0,0 +1,78 @@
+package com.mrugesh.crud.service.impl;
+
+import com.mrugesh.crud.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks against a real Postgres that writers do not wait for each other to record their changes, that a change
+ * still in flight gets no feed position and is numbered after the changes already read once it commits, and that
+ * the collection change counter grows with every commit.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class EmployeeChangeSequencerTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private EmployeeChangeSequencer employeeChangeSequencer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    void writersDoNotWaitAndChangesAreNumberedAfterCommit() throws Exception {
+        long initialCount = employeeRepository.getChangeCount().getTotal();
+        try (Connection inFlight = dataSource.getConnection()) {
+            inFlight.setAutoCommit(false);
+            try (Statement statement = inFlight.createStatement()) {
+                statement.execute(insert(900_001));
+            }
+            // would wait for the transaction above if writers shared a locked row
+            jdbcTemplate.execute(insert(900_002));
+            long committedCount = employeeRepository.getChangeCount().getTotal();
+            assertThat(committedCount).isGreaterThan(initialCount);
+
+            employeeChangeSequencer.assignPositions(1000);
+            assertThat(position(900_002)).isNotNull();
+            assertThat(position(900_001)).isNull();
+            assertThat(employeeRepository.getChangeCount().getTotal()).isGreaterThanOrEqualTo(committedCount);
+
+            inFlight.commit();
+            assertThat(employeeRepository.getChangeCount().getTotal()).isGreaterThan(committedCount);
+        }
+        employeeChangeSequencer.assignPositions(1000);
+        assertThat(position(900_001)).isGreaterThan(position(900_002));
+    }
+
+    private Long position(long employeeId) {
+        return jdbcTemplate.queryForObject("SELECT seq FROM employee_changes WHERE employee_id = ?",
+                Long.class, employeeId);
+    }
+
+    private static String insert(long id) {
+        return "INSERT INTO employees (id, first_name, last_name, email_id, version) VALUES ("
+                + id + ", 'First', 'Last', 'employee" + id + "@example.com', 0)";
+    }
+}
@@ -0,0 +1,80 @@
+package com.mrugesh.crud.service.impl;
+
+import com.mrugesh.crud.aspect.RepositoryBulkheadAspect;
+import com.mrugesh.crud.config.ExportProperties;
+import com.mrugesh.crud.datasource.ReadYourWritesContext;
+import com.mrugesh.crud.datasource.ReplicaPools;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports from two in-memory H2 databases standing in for the primary and a replica, each holding one employee
+ * named after the database, with the export running on another thread than the request like the NDJSON endpoint.
+ */
+class EmployeeExporterTest {
+
+    private EmployeeExporter employeeExporter;
+
+    @BeforeEach
+    void createExporter() {
+        DataSource primary = database(ReplicaPools.PRIMARY);
+        ReplicaPools pools = new ReplicaPools(primary, Map.of("replica-1", database("replica-1")), Duration.ofMinutes(1));
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("replicaPools", pools));
+        employeeExporter = new EmployeeExporter(primary, new ExportProperties(),
+                beans.getBeanProvider(ReplicaPools.class), beans.getBeanProvider(RepositoryBulkheadAspect.class));
+    }
+
+    @AfterEach
+    void closeContext() {
+        ReadYourWritesContext.close();
+    }
+
+    @Test
+    void pinnedClientExportsFromThePrimary() {
+        ReadYourWritesContext.open(Instant.now().plusSeconds(60), until -> { });
+
+        assertThat(exportOnAnotherThread()).containsExactly(ReplicaPools.PRIMARY);
+    }
+
+    @Test
+    void otherClientsExportFromAReplica() {
+        ReadYourWritesContext.open(null, until -> { });
+
+        assertThat(exportOnAnotherThread()).containsExactly("replica-1");
+    }
+
+    private List<String> exportOnAnotherThread() {
+        // decided on the request thread, as EmployeeController does before streaming
+        boolean pinnedToPrimary = ReadYourWritesContext.isPinnedToPrimary();
+        List<String> names = new CopyOnWriteArrayList<>();
+        CompletableFuture.runAsync(() -> employeeExporter.exportAllEmployees(pinnedToPrimary,
+                employee -> names.add(employee.getFirstName()))).join();
+        return names;
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                create table employees (id bigint primary key, first_name varchar(255), last_name varchar(255),
+                                        email_id varchar(255), version bigint)
+                """);
+        jdbcTemplate.update("insert into employees values (1, ?, 'Last', 'employee1@example.com', 0)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,170 @@
+package com.mrugesh.crud.service.impl;
+
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.repository.sort.EmployeeSortOrder;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the versioning and the sorted indexes of the store, including slot reuse after many replacements, and that
+ * email prefix searches match what a case-insensitive search of the database finds.
+ */
+class EmployeeStoreTest {
+
+    private final EmployeeStore store = new EmployeeStore(16);
+
+    @Test
+    void olderVersionsAndDeletedEmployeesAreNotStored() {
+        assertThat(store.upsert(employee(1, "Ada", "Lovelace", 1))).isTrue();
+        assertThat(store.upsert(employee(1, "Ada", "Byron", 0))).isFalse();
+        assertThat(store.findById(1)).get().extracting(EmployeeDto::getLastName).isEqualTo("Lovelace");
+
+        assertThat(store.remove(1)).isTrue();
+        assertThat(store.upsert(employee(1, "Ada", "Lovelace", 2))).isFalse();
+        assertThat(store.findById(1)).isEmpty();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void indexesFollowTheWritesOnceFlushed() {
+        store.upsert(employee(3, "Grace", "Hopper", 0));
+        store.upsert(employee(1, "Alan", "Turing", 0));
+        store.upsert(employee(2, "edsger", "Dijkstra", 0));
+        store.upsert(new EmployeeDto(4L, null, "Liskov", "barbara@example.com", 0L));
+        store.flushIndexes();
+
+        assertThat(lastNames(store.findAll(EmployeeSortOrder.LAST_NAME, Sort.Direction.ASC, PageRequest.of(0, 10))))
+                .containsExactly("Dijkstra", "Hopper", "Liskov", "Turing");
+        // code point order, upper case before lower case, and null sorts last
+        assertThat(store.findAll(EmployeeSortOrder.FIRST_NAME, Sort.Direction.ASC, PageRequest.of(0, 10)).getContent())
+                .extracting(EmployeeDto::getId).containsExactly(1L, 3L, 2L, 4L);
+        assertThat(store.findAll(EmployeeSortOrder.ID, Sort.Direction.DESC, PageRequest.of(1, 3)).getContent())
+                .extracting(EmployeeDto::getId).containsExactly(1L);
+
+        store.upsert(employee(1, "Alan", "Kay", 1));
+        store.remove(3);
+        assertThat(lastNames(store.findAll(EmployeeSortOrder.LAST_NAME, Sort.Direction.ASC, PageRequest.of(0, 10))))
+                .containsExactly("Dijkstra", "Hopper", "Liskov", "Turing");
+        store.flushIndexes();
+        assertThat(lastNames(store.findAll(EmployeeSortOrder.LAST_NAME, Sort.Direction.ASC, PageRequest.of(0, 10))))
+                .containsExactly("Dijkstra", "Kay", "Liskov");
+    }
+
+    @Test
+    void emailLookupsUseTheEmailIndex() {
+        store.upsert(employee(2, "Grace", "Hopper", 0));
+        store.upsert(employee(1, "Grace", "Kelly", 0));
+        store.upsert(new EmployeeDto(3L, "Alan", "Turing", "GRACE.turing@example.com", 0L));
+        store.flushIndexes();
+
+        assertThat(store.findAllByEmail("grace.hopper@example.com")).extracting(EmployeeDto::getId).containsExactly(2L);
+        assertThat(store.findAllByEmail("GRACE.HOPPER@example.com")).isEmpty();
+
+        Slice<EmployeeDto> firstPage = store.findByEmailPrefix("grace.", PageRequest.of(0, 2));
+        assertThat(firstPage.getContent()).extracting(EmployeeDto::getId).containsExactly(1L, 2L);
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(store.findByEmailPrefix("Grace.T", PageRequest.of(0, 2)).getContent())
+                .extracting(EmployeeDto::getId).containsExactly(3L);
+    }
+
+    @Test
+    void emailPrefixSearchesFoldCaseLikeLowerDoes() {
+        List<EmployeeDto> employees = List.of(
+                new EmployeeDto(1L, "Emile", "Zola", "Emile.Zola@example.com", 0L),
+                new EmployeeDto(2L, "Émile", "Durkheim", "Émile.Durkheim@example.com", 0L),
+                new EmployeeDto(3L, "Anders", "Ångström", "anders.ÅNGSTRÖM@example.com", 0L),
+                new EmployeeDto(4L, "Ada", "Lovelace", "ADA@example.com", 0L));
+        employees.forEach(store::upsert);
+        store.flushIndexes();
+
+        for (String prefix : List.of("e", "EMILE.", "anders.", "anders.a", "ada@", "x")) {
+            assertThat(store.canFindByEmailPrefix(prefix)).isTrue();
+            assertThat(store.findByEmailPrefix(prefix, PageRequest.of(0, 10)).getContent())
+                    .as(prefix)
+                    .containsExactlyElementsOf(employees.stream()
+                            .filter(employee -> employee.getEmail().toLowerCase(Locale.ROOT).startsWith(prefix.toLowerCase(Locale.ROOT)))
+                            .sorted(Comparator.comparing(EmployeeDto::getId))
+                            .toList());
+        }
+        // folding non-ASCII letters is left to the database
+        assertThat(store.canFindByEmailPrefix("émile")).isFalse();
+
+        // lower() turns the Kelvin sign into 'k', an ASCII prefix could match it
+        store.upsert(new EmployeeDto(5L, "William", "Thomson", "\u212Aelvin@example.com", 0L));
+        assertThat(store.canFindByEmailPrefix("kelvin")).isFalse();
+        store.remove(5);
+        assertThat(store.canFindByEmailPrefix("kelvin")).isTrue();
+    }
+
+    @Test
+    void removedIdsAreForgottenOnceCompacted() {
+        store.upsert(employee(1, "Ada", "Lovelace", 1));
+        store.remove(1);
+        store.remove(2);
+        assertThat(store.tombstoneCount()).isEqualTo(2);
+
+        assertThat(store.compactTombstones(System.nanoTime() + 1)).isEqualTo(2);
+        assertThat(store.tombstoneCount()).isZero();
+        assertThat(store.upsert(employee(1, "Ada", "Lovelace", 0))).isTrue();
+    }
+
+    @Test
+    void manyReplacementsKeepEveryIndexSorted() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 500; i++) {
+                long id = 1 + random.nextInt(1000);
+                if (random.nextInt(10) == 0) {
+                    store.remove(id);
+                } else {
+                    store.upsert(new EmployeeDto(id, "first" + random.nextInt(100), "last" + random.nextInt(100),
+                            "mail" + random.nextInt(100_000) + "@example.com", (long) round * 1000 + i));
+                }
+            }
+            store.flushIndexes();
+        }
+
+        for (EmployeeSortOrder order : EmployeeSortOrder.values()) {
+            Slice<EmployeeDto> all = store.findAll(order, Sort.Direction.ASC, PageRequest.of(0, 1000));
+            assertThat(all.getContent()).hasSize(store.size());
+            assertThat(all.getContent()).isSortedAccordingTo((a, b) -> compare(order, a, b));
+        }
+        assertThat(store.findAll()).extracting(EmployeeDto::getId).isSorted();
+    }
+
+    private static int compare(EmployeeSortOrder order, EmployeeDto a, EmployeeDto b) {
+        int result = switch (order) {
+            case ID -> 0;
+            case FIRST_NAME -> a.getFirstName().compareTo(b.getFirstName());
+            case LAST_NAME -> a.getLastName().compareTo(b.getLastName());
+            case EMAIL -> a.getEmail().compareTo(b.getEmail());
+            case LAST_NAME_FIRST_NAME -> {
+                int last = a.getLastName().compareTo(b.getLastName());
+                yield last != 0 ? last : a.getFirstName().compareTo(b.getFirstName());
+            }
+            case FIRST_NAME_LAST_NAME -> {
+                int first = a.getFirstName().compareTo(b.getFirstName());
+                yield first != 0 ? first : a.getLastName().compareTo(b.getLastName());
+            }
+        };
+        return result != 0 ? result : a.getId().compareTo(b.getId());
+    }
+
+    private static List<String> lastNames(Slice<EmployeeDto> slice) {
+        return slice.getContent().stream().map(EmployeeDto::getLastName).toList();
+    }
+
+    private static EmployeeDto employee(long id, String firstName, String lastName, long version) {
+        return new EmployeeDto(id, firstName, lastName,
+                (firstName + "." + lastName + "@example.com").toLowerCase(), version);
+    }
+}
@@ -0,0 +1,66 @@
+package com.mrugesh.crud.service.impl;
+
+import com.mrugesh.crud.dto.EmployeeDto;
+import com.mrugesh.crud.repository.EmployeeRepository;
+import com.mrugesh.crud.repository.sort.EmployeeSortOrder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks against a Postgres database created with the C locale that the read model recognizes its text order, and
+ * that the store lists employees with mixed case, punctuation, accents and missing names exactly like the database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class EmployeeTextOrderTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withEnv("POSTGRES_INITDB_ARGS", "--locale=C --encoding=UTF8");
+
+    private static final String[] NAMES = {"alice", "Alice", "Bob", "_bob", "bob", "Zoë", "zoe", "Émile", "émile",
+            "1st", "Åsa", "O'Neil", "o'neil", "Zoe", null};
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeReadModel employeeReadModel;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void storeOrdersTextLikeTheDatabase() {
+        for (int i = 0; i < NAMES.length; i++) {
+            jdbcTemplate.update("INSERT INTO employees (id, first_name, last_name, email_id, version) VALUES (?, ?, ?, ?, 0)",
+                    800_000 + i, NAMES[i], NAMES[NAMES.length - 1 - i], "person" + i + "@example.com");
+        }
+        EmployeeStore store = new EmployeeStore(16);
+        employeeRepository.findAllDtos(null).forEach(store::upsert);
+        store.flushIndexes();
+
+        assertThat(employeeReadModel.isTextOrderShared()).isTrue();
+        for (EmployeeSortOrder order : EmployeeSortOrder.values()) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                PageRequest page = PageRequest.of(0, 100, order.toSort(direction));
+                assertThat(store.findAll(order, direction, page).getContent())
+                        .as("%s %s", order, direction)
+                        .extracting(EmployeeDto::getId)
+                        .containsExactlyElementsOf(employeeRepository.findDtos(null, page).getContent().stream()
+                                .map(EmployeeDto::getId).toList());
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.mrugesh.crud.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Holds the first load of a key open until every concurrent caller has arrived, so all of them overlap with it.
+ */
+class SingleFlightTest {
+
+    private static final int CALLERS = 100;
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.load(1L, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "employee-1";
+                })));
+            }
+            // let the callers reach the flight before it lands
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("employee-1");
+            }
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void laterCallersLoadAgain() {
+        singleFlight.load(1L, () -> "v" + loads.incrementAndGet());
+
+        assertThat(singleFlight.load(1L, () -> "v" + loads.incrementAndGet())).isEqualTo("v2");
+    }
+
+    @Test
+    void failedLoadIsNotRemembered() {
+        assertThatThrownBy(() -> singleFlight.load(1L, () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.load(1L, () -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    void forgottenFlightIsNotJoined() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> stale = executor.submit(() -> singleFlight.load(1L, () -> {
+                started.countDown();
+                await(release);
+                return "before write";
+            }));
+            started.await();
+
+            singleFlight.forget(1L);
+
+            assertThat(singleFlight.load(1L, () -> "after write")).isEqualTo("after write");
+            release.countDown();
+            assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("before write");
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}